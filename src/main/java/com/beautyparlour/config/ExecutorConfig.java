@@ -0,0 +1,82 @@
+package com.beautyparlour.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for background work. Declaring any executor bean switches off Spring Boot's
+ * default one, so the default application executor is redeclared here from Boot's builder.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @Primary
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs per-tenant payroll transactions in parallel. Kept well below the connection pool size;
+     * when the queue is full the submitting thread runs the task itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor payrollExecutor(@Value("${payroll.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("payroll-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Runs report jobs. ReportJobService only claims a job when a worker is free; the small queue
+     * covers a finishing worker handing over the next job before its thread has returned.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(@Value("${reports.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("report-");
+        return executor;
+    }
+
+    /**
+     * Writes booking feed events to SSE clients. Each subscriber has at most one task here at a time.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor bookingFeedExecutor(@Value("${booking-feed.send-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("booking-feed-");
+        return executor;
+    }
+
+    /**
+     * Runs the service and course halves of a client booking lookup side by side. When the queue is
+     * full the request thread runs its half itself, so lookups degrade to sequential instead of failing.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor clientLookupExecutor(@Value("${booking.client-lookup.threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("client-lookup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,74 @@
+package com.beautyparlour.config;
+
+import com.beautyparlour.constants.AppConstants;
+import com.beautyparlour.service.CatalogListingCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/l2cache}) reporting second-level and catalog listing cache hit ratios per region
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class L2CacheEndpoint {
+
+    private static final List<String> ENTITY_REGIONS = List.of(
+            AppConstants.CacheRegions.PARLOURS,
+            AppConstants.CacheRegions.ADMINS,
+            AppConstants.CacheRegions.CATEGORIES,
+            AppConstants.CacheRegions.SERVICES,
+            AppConstants.CacheRegions.COURSES);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogListingCache catalogListingCache;
+
+    @ReadOperation
+    public Map<String, Object> cacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCache", counters(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : ENTITY_REGIONS) {
+            regions.put(region, regionCounters(statistics.getDomainDataRegionStatistics(region)));
+        }
+        result.put("regions", regions);
+        result.put("listings", catalogListingCache.statistics());
+        return result;
+    }
+
+    private Map<String, Object> regionCounters(CacheRegionStatistics region) {
+        if (region == null) {
+            return counters(0, 0, 0);
+        }
+        Map<String, Object> counters = counters(region.getHitCount(), region.getMissCount(), region.getPutCount());
+        counters.put("elementsInMemory", region.getElementCountInMemory());
+        return counters;
+    }
+
+    private Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        long lookups = hits + misses;
+        counters.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return counters;
+    }
+}
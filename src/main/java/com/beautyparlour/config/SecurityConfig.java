@@ -69,10 +69,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/auth/*").permitAll()
                         .requestMatchers("/superadmin/secret-login").permitAll()
-                        .requestMatchers("/book-course", "/book-service", "/cancel-course/**", "/cancel-service/**", "/my-course-bookings", "/my-service-bookings").permitAll()
+                        .requestMatchers("/book-course", "/book-service", "/cancel-course/**", "/cancel-service/**", "/my-course-bookings", "/my-service-bookings", "/my-bookings").permitAll()
+                        .requestMatchers("/availability").permitAll()
                         .requestMatchers("/courses", "/services", "/categories", "/success-students", "/certificates").permitAll()
+                        .requestMatchers("/courses/browse", "/services/browse").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
-                        .requestMatchers("/superadmin/**").hasRole("SUPERADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**", "/superadmin/**").hasRole("SUPERADMIN")
                         .anyRequest().authenticated()
                 );
 
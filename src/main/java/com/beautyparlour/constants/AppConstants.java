@@ -68,10 +68,25 @@ public final class AppConstants {
         public static final int MAX_ADVANCE_PERCENTAGE = 80; // Maximum 80% of salary as advance
         public static final int MIN_SERVICE_PRICE = 1;
         public static final int MAX_SERVICE_PRICE = 999999;
+        public static final int MAX_BULK_STATUS_UPDATE = 100; // Booking ids per bulk status request
         
         private Business() {}
     }
     
+    // Hibernate second-level cache regions (sizes are configured in application.conf)
+    public static final class CacheRegions {
+        public static final String PARLOURS = "parlours";
+        public static final String ADMINS = "admins";
+        public static final String CATEGORIES = "categories";
+        public static final String SERVICES = "services";
+        public static final String COURSES = "courses";
+        public static final String CATEGORY_LISTINGS = "listing.categories";
+        public static final String SERVICE_LISTINGS = "listing.services";
+        public static final String COURSE_LISTINGS = "listing.courses";
+        
+        private CacheRegions() {}
+    }
+    
     private AppConstants() {
         // Utility class - prevent instantiation
     }
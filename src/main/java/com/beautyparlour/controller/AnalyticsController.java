@@ -0,0 +1,94 @@
+package com.beautyparlour.controller;
+
+import com.beautyparlour.dto.response.AnalyticsDTO;
+import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.BookingAnalyticsDTO;
+import com.beautyparlour.dto.response.MonthlyTrendDTO;
+import com.beautyparlour.security.UserPrincipal;
+import com.beautyparlour.service.BookingTrendService;
+import com.beautyparlour.service.CustomerAnalyticsService;
+import com.beautyparlour.service.DashboardService;
+import com.beautyparlour.service.PopularServicesTracker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/admin/analytics")
+@Tag(name = "Analytics", description = "Parlour analytics APIs")
+public class AnalyticsController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private CustomerAnalyticsService customerAnalyticsService;
+
+    @Autowired
+    private PopularServicesTracker popularServicesTracker;
+
+    @Autowired
+    private BookingTrendService bookingTrendService;
+
+    @GetMapping("/bookings")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get booking counts and revenue for a date range")
+    public ResponseEntity<ApiResponse<BookingAnalyticsDTO>> getBookingAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        BookingAnalyticsDTO analytics = dashboardService.getBookingAnalytics(currentUser.getParlourId(), from, to);
+        return ResponseEntity.ok(ApiResponse.success("Booking analytics retrieved successfully", analytics));
+    }
+
+    @GetMapping("/customers")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get customer analytics, exact or approximate")
+    public ResponseEntity<ApiResponse<AnalyticsDTO>> getCustomerAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "approximate") String mode,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        AnalyticsDTO analytics = customerAnalyticsService.getCustomerAnalytics(
+                currentUser.getParlourId(), from, to, CustomerAnalyticsService.Mode.from(mode));
+        return ResponseEntity.ok(ApiResponse.success("Customer analytics retrieved successfully", analytics));
+    }
+
+    @GetMapping("/popular-services")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get the most booked services, all time or for one month")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getPopularServices(
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        Map<String, Long> popular = popularServicesTracker.getPopularServices(
+                currentUser.getParlourId(), month, Math.max(limit, 1));
+        return ResponseEntity.ok(ApiResponse.success("Popular services retrieved successfully", popular));
+    }
+
+    @GetMapping("/trends")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get monthly booking and revenue trends, optionally for one service or course")
+    public ResponseEntity<ApiResponse<List<MonthlyTrendDTO>>> getBookingTrends(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID itemId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        List<MonthlyTrendDTO> trends = bookingTrendService.getMonthlyTrends(currentUser.getParlourId(), from, to, itemId);
+        return ResponseEntity.ok(ApiResponse.success("Booking trends retrieved successfully", trends));
+    }
+}
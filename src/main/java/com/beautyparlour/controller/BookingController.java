@@ -2,22 +2,39 @@ package com.beautyparlour.controller;
 
 import com.beautyparlour.dto.request.BookCourseRequest;
 import com.beautyparlour.dto.request.BookServiceRequest;
+import com.beautyparlour.dto.request.BulkUpdateBookingStatusRequest;
 import com.beautyparlour.dto.request.UpdateBookingStatusRequest;
 import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.AvailableSlotDTO;
+import com.beautyparlour.dto.response.BookingChangesDTO;
+import com.beautyparlour.dto.response.BulkStatusUpdateResult;
+import com.beautyparlour.dto.response.ClientBookingDTO;
 import com.beautyparlour.dto.response.CourseBookingDTO;
+import com.beautyparlour.dto.response.CursorPagedResponse;
 import com.beautyparlour.dto.response.ServiceBookingDTO;
 import com.beautyparlour.entity.CourseBooking;
 import com.beautyparlour.entity.ServiceBooking;
 import com.beautyparlour.security.UserPrincipal;
+import com.beautyparlour.service.AvailabilityEngine;
+import com.beautyparlour.service.BookingExportService;
+import com.beautyparlour.service.BookingFeedHub;
 import com.beautyparlour.service.BookingService;
+import com.beautyparlour.service.RequestCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,6 +46,41 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private BookingFeedHub bookingFeedHub;
+
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+
+    @GetMapping("/my-bookings")
+    @Operation(summary = "Get client service and course bookings, newest first")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<ClientBookingDTO>>> getMyBookings(
+            @RequestParam String clientName,
+            @RequestParam String phone,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        String lookupKey = clientName + "|" + phone + "|" + cursor + "|" + size;
+        CursorPagedResponse<ClientBookingDTO> page = requestCoalescer.execute("bookings.client.all", lookupKey,
+                () -> bookingService.getClientBookings(clientName, phone, cursor, size));
+        return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", page));
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Get the next free appointment times for a service")
+    public ResponseEntity<ApiResponse<List<AvailableSlotDTO>>> getAvailability(
+            @RequestParam UUID serviceId,
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(defaultValue = "14") int days) {
+        List<AvailableSlotDTO> slots = availabilityEngine.findAvailableSlots(serviceId, count, days);
+        return ResponseEntity.ok(ApiResponse.success("Available slots retrieved successfully", slots));
+    }
+
     // Course Booking Endpoints
     @PostMapping("/book-course")
     @Operation(summary = "Book a course")
@@ -42,11 +94,21 @@ public class BookingController {
     @Operation(summary = "Get client course bookings")
     public ResponseEntity<ApiResponse<List<CourseBookingDTO>>> getMyCourseBookings(
             @RequestParam String clientName,
-            @RequestParam String phone) {
-        List<CourseBooking> bookings = bookingService.getCourseBookingsByClient(clientName, phone);
-        List<CourseBookingDTO> bookingDTOs = bookings.stream()
-                .map(CourseBookingDTO::new)
-                .collect(Collectors.toList());
+            @RequestParam String phone,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        String lookupKey = clientName + "|" + phone + "|" + includeArchived;
+        List<CourseBookingDTO> bookingDTOs = requestCoalescer.execute("bookings.client.courses", lookupKey, () -> {
+            List<CourseBooking> bookings = bookingService.getCourseBookingsByClient(clientName, phone);
+            List<CourseBookingDTO> dtos = bookings.stream()
+                    .map(CourseBookingDTO::new)
+                    .collect(Collectors.toList());
+            if (includeArchived) {
+                bookingService.getArchivedCourseBookingsByClient(clientName, phone).stream()
+                        .map(CourseBookingDTO::new)
+                        .forEach(dtos::add);
+            }
+            return List.copyOf(dtos);
+        });
         return ResponseEntity.ok(ApiResponse.success("Course bookings retrieved successfully", bookingDTOs));
     }
 
@@ -68,6 +130,21 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Course bookings retrieved successfully", bookingDTOs));
     }
 
+    @GetMapping("/admin/course-bookings/export")
+    @Operation(summary = "Export course bookings as CSV or NDJSON", description = "Includes archived bookings")
+    public ResponseEntity<StreamingResponseBody> exportCourseBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        BookingExportService.Format exportFormat = BookingExportService.Format.from(format);
+        StreamingResponseBody body = bookingExportService.exportCourseBookings(
+                currentUser.getParlourId(), from, to, status, exportFormat, gzip);
+        return exportResponse("course-bookings", exportFormat, gzip, body);
+    }
+
     @PutMapping("/admin/course-bookings/{bookingId}/status")
     @Operation(summary = "Update course booking status")
     public ResponseEntity<ApiResponse<CourseBookingDTO>> updateCourseBookingStatus(
@@ -79,6 +156,15 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Course booking status updated successfully", bookingDTO));
     }
 
+    @PutMapping("/admin/course-bookings/status")
+    @Operation(summary = "Update the status of several course bookings at once")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResult>> bulkUpdateCourseBookingStatus(
+            @Valid @RequestBody BulkUpdateBookingStatusRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        BulkStatusUpdateResult result = bookingService.bulkUpdateCourseBookingStatus(request, currentUser.getParlourId());
+        return ResponseEntity.ok(ApiResponse.success("Course booking statuses updated successfully", result));
+    }
+
     // Service Booking Endpoints
     @PostMapping("/book-service")
     @Operation(summary = "Book a service")
@@ -92,11 +178,21 @@ public class BookingController {
     @Operation(summary = "Get client service bookings")
     public ResponseEntity<ApiResponse<List<ServiceBookingDTO>>> getMyServiceBookings(
             @RequestParam String clientName,
-            @RequestParam String phone) {
-        List<ServiceBooking> bookings = bookingService.getServiceBookingsByClient(clientName, phone);
-        List<ServiceBookingDTO> bookingDTOs = bookings.stream()
-                .map(ServiceBookingDTO::new)
-                .collect(Collectors.toList());
+            @RequestParam String phone,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        String lookupKey = clientName + "|" + phone + "|" + includeArchived;
+        List<ServiceBookingDTO> bookingDTOs = requestCoalescer.execute("bookings.client.services", lookupKey, () -> {
+            List<ServiceBooking> bookings = bookingService.getServiceBookingsByClient(clientName, phone);
+            List<ServiceBookingDTO> dtos = bookings.stream()
+                    .map(ServiceBookingDTO::new)
+                    .collect(Collectors.toList());
+            if (includeArchived) {
+                bookingService.getArchivedServiceBookingsByClient(clientName, phone).stream()
+                        .map(ServiceBookingDTO::new)
+                        .forEach(dtos::add);
+            }
+            return List.copyOf(dtos);
+        });
         return ResponseEntity.ok(ApiResponse.success("Service bookings retrieved successfully", bookingDTOs));
     }
 
@@ -118,6 +214,21 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Service bookings retrieved successfully", bookingDTOs));
     }
 
+    @GetMapping("/admin/service-bookings/export")
+    @Operation(summary = "Export service bookings as CSV or NDJSON", description = "Includes archived bookings")
+    public ResponseEntity<StreamingResponseBody> exportServiceBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        BookingExportService.Format exportFormat = BookingExportService.Format.from(format);
+        StreamingResponseBody body = bookingExportService.exportServiceBookings(
+                currentUser.getParlourId(), from, to, status, exportFormat, gzip);
+        return exportResponse("service-bookings", exportFormat, gzip, body);
+    }
+
     @PutMapping("/admin/service-bookings/{bookingId}/status")
     @Operation(summary = "Update service booking status")
     public ResponseEntity<ApiResponse<ServiceBookingDTO>> updateServiceBookingStatus(
@@ -128,4 +239,47 @@ public class BookingController {
         ServiceBookingDTO bookingDTO = new ServiceBookingDTO(booking);
         return ResponseEntity.ok(ApiResponse.success("Service booking status updated successfully", bookingDTO));
     }
+
+    @PutMapping("/admin/service-bookings/status")
+    @Operation(summary = "Update the status of several service bookings at once")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResult>> bulkUpdateServiceBookingStatus(
+            @Valid @RequestBody BulkUpdateBookingStatusRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        BulkStatusUpdateResult result = bookingService.bulkUpdateServiceBookingStatus(request, currentUser.getParlourId());
+        return ResponseEntity.ok(ApiResponse.success("Service booking statuses updated successfully", result));
+    }
+
+    @GetMapping(value = "/admin/bookings/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream new bookings and status changes of the parlour as Server-Sent Events")
+    public SseEmitter streamBookings(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return bookingFeedHub.subscribe(currentUser.getParlourId());
+    }
+
+    @GetMapping("/admin/bookings/changes")
+    @Operation(summary = "Get bookings created or modified since a cursor")
+    public ResponseEntity<ApiResponse<BookingChangesDTO>> getBookingChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        BookingService.BookingChanges changes = bookingService.getBookingChanges(currentUser.getParlourId(), since, size);
+        if (ifNoneMatch != null && ifNoneMatch.contains(changes.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(changes.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(changes.etag())
+                .body(ApiResponse.success("Booking changes retrieved successfully", changes.changes()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, BookingExportService.Format format,
+                                                                 boolean gzip, StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
 }
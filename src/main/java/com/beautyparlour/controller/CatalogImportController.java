@@ -0,0 +1,32 @@
+package com.beautyparlour.controller;
+
+import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.CatalogImportResult;
+import com.beautyparlour.security.UserPrincipal;
+import com.beautyparlour.service.CatalogImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/catalog")
+@Tag(name = "Catalog Import", description = "Bulk import of categories, services and courses")
+public class CatalogImportController {
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import categories, services and courses from a CSV or JSON file")
+    public ResponseEntity<ApiResponse<CatalogImportResult>> importCatalog(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        CatalogImportResult result = catalogImportService.importCatalog(file, currentUser.getParlourId());
+        return ResponseEntity.ok(ApiResponse.success("Catalog imported successfully", result));
+    }
+}
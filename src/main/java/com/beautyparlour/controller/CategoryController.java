@@ -2,9 +2,12 @@ package com.beautyparlour.controller;
 
 import com.beautyparlour.dto.request.CreateCategoryRequest;
 import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.CategoryDTO;
 import com.beautyparlour.entity.Category;
 import com.beautyparlour.security.UserPrincipal;
 import com.beautyparlour.service.CategoryService;
+import com.beautyparlour.service.ParlourSlugResolver;
+import com.beautyparlour.service.RequestCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,6 +27,12 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private ParlourSlugResolver parlourSlugResolver;
+
     @PostMapping
     @Operation(summary = "Create new category")
     public ResponseEntity<ApiResponse<Category>> createCategory(
@@ -34,16 +43,16 @@ public class CategoryController {
     }
 
     @GetMapping
-    @Operation(summary = "Get categories")
-    public ResponseEntity<ApiResponse<List<Category>>> getCategories(
+    @Operation(summary = "Get categories of a parlour")
+    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getCategories(
+            @RequestParam(required = false) String parlour,
             @AuthenticationPrincipal UserPrincipal currentUser) {
-        List<Category> categories;
-        if (currentUser != null && currentUser.getParlourId() != null) {
-            categories = categoryService.getCategoriesByParlour(currentUser.getParlourId());
-        } else {
-            categories = categoryService.getAllCategories();
-        }
-        return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
+        UUID parlourId = parlourSlugResolver.resolveCatalogParlour(currentUser, parlour);
+        List<CategoryDTO> categoryDTOs = requestCoalescer.execute("categories.list", parlourId, () ->
+                categoryService.getCategoriesByParlour(parlourId).stream()
+                        .map(CategoryDTO::new)
+                        .toList());
+        return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categoryDTOs));
     }
 
     @DeleteMapping("/{categoryId}")
@@ -2,9 +2,13 @@ package com.beautyparlour.controller;
 
 import com.beautyparlour.dto.request.CreateCourseRequest;
 import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.CourseDTO;
+import com.beautyparlour.dto.response.CursorPagedResponse;
 import com.beautyparlour.entity.Course;
 import com.beautyparlour.security.UserPrincipal;
 import com.beautyparlour.service.CourseService;
+import com.beautyparlour.service.ParlourSlugResolver;
+import com.beautyparlour.service.RequestCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,6 +28,12 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private ParlourSlugResolver parlourSlugResolver;
+
     @PostMapping
     @Operation(summary = "Create new course")
     public ResponseEntity<ApiResponse<Course>> createCourse(
@@ -34,16 +44,25 @@ public class CourseController {
     }
 
     @GetMapping
-    @Operation(summary = "Get courses")
-    public ResponseEntity<ApiResponse<List<Course>>> getCourses(
+    @Operation(summary = "Get courses of a parlour")
+    public ResponseEntity<ApiResponse<List<CourseDTO>>> getCourses(
+            @RequestParam(required = false) String parlour,
             @AuthenticationPrincipal UserPrincipal currentUser) {
-        List<Course> courses;
-        if (currentUser != null && currentUser.getParlourId() != null) {
-            courses = courseService.getCoursesByParlour(currentUser.getParlourId());
-        } else {
-            courses = courseService.getAllCourses();
-        }
-        return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", courses));
+        UUID parlourId = parlourSlugResolver.resolveCatalogParlour(currentUser, parlour);
+        List<CourseDTO> courseDTOs = requestCoalescer.execute("courses.list", parlourId, () ->
+                courseService.getCoursesByParlour(parlourId).stream()
+                        .map(CourseDTO::new)
+                        .toList());
+        return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", courseDTOs));
+    }
+
+    @GetMapping("/browse")
+    @Operation(summary = "Browse courses of all parlours")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<Course>>> browseCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPagedResponse<Course> page = courseService.browseCourses(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", page));
     }
 
     @DeleteMapping("/{courseId}")
@@ -0,0 +1,31 @@
+package com.beautyparlour.controller;
+
+import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.DashboardAnalyticsDTO;
+import com.beautyparlour.security.UserPrincipal;
+import com.beautyparlour.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Tag(name = "Dashboard", description = "Admin dashboard APIs")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/admin/dashboard")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get dashboard analytics of the parlour")
+    public ResponseEntity<ApiResponse<DashboardAnalyticsDTO>> getDashboard(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        DashboardAnalyticsDTO dashboard = dashboardService.getDashboard(currentUser.getParlourId());
+        return ResponseEntity.ok(ApiResponse.success("Dashboard retrieved successfully", dashboard));
+    }
+}
@@ -0,0 +1,73 @@
+package com.beautyparlour.controller;
+
+import com.beautyparlour.dto.request.SubmitReportRequest;
+import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.ReportJobDTO;
+import com.beautyparlour.security.UserPrincipal;
+import com.beautyparlour.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/admin/reports")
+@Tag(name = "Reports", description = "Background report APIs")
+public class ReportController {
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Submit a report to be generated in the background")
+    public ResponseEntity<ApiResponse<ReportJobDTO>> submitReport(
+            @Valid @RequestBody SubmitReportRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ReportJobDTO job = reportJobService.submit(currentUser.getParlourId(), request);
+        return ResponseEntity.ok(ApiResponse.success("Report submitted successfully", job));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get the most recent report jobs")
+    public ResponseEntity<ApiResponse<List<ReportJobDTO>>> getReports(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        List<ReportJobDTO> jobs = reportJobService.getRecentJobs(currentUser.getParlourId());
+        return ResponseEntity.ok(ApiResponse.success("Reports retrieved successfully", jobs));
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get the status and progress of a report job")
+    public ResponseEntity<ApiResponse<ReportJobDTO>> getReport(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ReportJobDTO job = reportJobService.getJob(currentUser.getParlourId(), jobId);
+        return ResponseEntity.ok(ApiResponse.success("Report retrieved successfully", job));
+    }
+
+    @GetMapping("/{jobId}/download")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Download the result of a finished report job")
+    public ResponseEntity<Resource> downloadReport(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ReportJobService.ReportFile file = reportJobService.getResult(currentUser.getParlourId(), jobId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.fileName() + "\"")
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .body(new FileSystemResource(file.path()));
+    }
+}
@@ -2,9 +2,12 @@ package com.beautyparlour.controller;
 
 import com.beautyparlour.dto.request.CreateServiceRequest;
 import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.CursorPagedResponse;
 import com.beautyparlour.dto.response.ServiceDTO;
 import com.beautyparlour.entity.Service;
 import com.beautyparlour.security.UserPrincipal;
+import com.beautyparlour.service.ParlourSlugResolver;
+import com.beautyparlour.service.RequestCoalescer;
 import com.beautyparlour.service.ServiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/services")
@@ -26,6 +28,12 @@ public class ServiceController {
     @Autowired
     private ServiceService serviceService;
 
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private ParlourSlugResolver parlourSlugResolver;
+
     @PostMapping
     @Operation(summary = "Create new service")
     public ResponseEntity<ApiResponse<ServiceDTO>> createService(
@@ -37,21 +45,27 @@ public class ServiceController {
     }
 
     @GetMapping
-    @Operation(summary = "Get services")
+    @Operation(summary = "Get services of a parlour")
     public ResponseEntity<ApiResponse<List<ServiceDTO>>> getServices(
+            @RequestParam(required = false) String parlour,
             @AuthenticationPrincipal UserPrincipal currentUser) {
-        List<Service> services;
-        if (currentUser != null && currentUser.getParlourId() != null) {
-            services = serviceService.getServicesByParlour(currentUser.getParlourId());
-        } else {
-            services = serviceService.getAllServices();
-        }
-        List<ServiceDTO> serviceDTOs = services.stream()
-                .map(ServiceDTO::new)
-                .collect(Collectors.toList());
+        UUID parlourId = parlourSlugResolver.resolveCatalogParlour(currentUser, parlour);
+        List<ServiceDTO> serviceDTOs = requestCoalescer.execute("services.list", parlourId, () ->
+                serviceService.getServicesByParlour(parlourId).stream()
+                        .map(ServiceDTO::new)
+                        .toList());
         return ResponseEntity.ok(ApiResponse.success("Services retrieved successfully", serviceDTOs));
     }
 
+    @GetMapping("/browse")
+    @Operation(summary = "Browse services of all parlours")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<ServiceDTO>>> browseServices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPagedResponse<ServiceDTO> page = serviceService.browseServices(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Services retrieved successfully", page));
+    }
+
     @DeleteMapping("/{serviceId}")
     @Operation(summary = "Delete service")
     public ResponseEntity<ApiResponse<Void>> deleteService(
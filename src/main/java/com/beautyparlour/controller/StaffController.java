@@ -3,10 +3,12 @@ package com.beautyparlour.controller;
 import com.beautyparlour.dto.request.CreateStaffRequest;
 import com.beautyparlour.dto.request.StaffAdvancePayRequest;
 import com.beautyparlour.dto.response.ApiResponse;
+import com.beautyparlour.dto.response.PayrollRunResult;
 import com.beautyparlour.entity.Staff;
 import com.beautyparlour.entity.StaffAdvancePay;
 import com.beautyparlour.entity.StaffSalaryLog;
 import com.beautyparlour.security.UserPrincipal;
+import com.beautyparlour.service.PayrollService;
 import com.beautyparlour.service.StaffService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,6 +30,9 @@ public class StaffController {
     @Autowired
     private StaffService staffService;
 
+    @Autowired
+    private PayrollService payrollService;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Add new staff")
@@ -76,6 +81,15 @@ public class StaffController {
         return ResponseEntity.ok(ApiResponse.success("Salary calculated and logged successfully", salaryLog));
     }
 
+    @PostMapping("/payroll-run")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Pay this month's salary to all staff")
+    public ResponseEntity<ApiResponse<PayrollRunResult>> runPayroll(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        PayrollRunResult result = payrollService.runPayroll(currentUser.getParlourId());
+        return ResponseEntity.ok(ApiResponse.success("Payroll run completed successfully", result));
+    }
+
     @GetMapping("/{staffId}/salary-log")
     @Operation(summary = "Get staff salary log")
     public ResponseEntity<ApiResponse<List<StaffSalaryLog>>> getStaffSalaryLog(
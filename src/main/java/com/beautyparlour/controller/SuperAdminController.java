@@ -5,7 +5,13 @@ import com.beautyparlour.dto.request.SuperAdminLoginRequest;
 import com.beautyparlour.dto.response.ApiResponse;
 import com.beautyparlour.dto.response.LoginResponse;
 import com.beautyparlour.dto.response.ParlourResponse;
+import com.beautyparlour.dto.response.PayrollRunResult;
 import com.beautyparlour.service.AuthService;
+import com.beautyparlour.service.BookingPriceBackfillService;
+import com.beautyparlour.service.BookingTrendService;
+import com.beautyparlour.service.CustomerAnalyticsService;
+import com.beautyparlour.service.CustomerBackfillService;
+import com.beautyparlour.service.PayrollService;
 import com.beautyparlour.service.SuperAdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +22,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -29,6 +36,21 @@ public class SuperAdminController {
     @Autowired
     private SuperAdminService superAdminService;
 
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private CustomerAnalyticsService customerAnalyticsService;
+
+    @Autowired
+    private CustomerBackfillService customerBackfillService;
+
+    @Autowired
+    private BookingPriceBackfillService bookingPriceBackfillService;
+
+    @Autowired
+    private BookingTrendService bookingTrendService;
+
     @PostMapping("/secret-login")
     @Operation(summary = "SuperAdmin login")
     public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody SuperAdminLoginRequest request) {
@@ -59,4 +81,45 @@ public class SuperAdminController {
         superAdminService.deleteParlour(parlourId);
         return ResponseEntity.ok(ApiResponse.success("Parlour deleted successfully"));
     }
+
+    @PostMapping("/payroll-run")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @Operation(summary = "Run this month's payroll for all parlours")
+    public ResponseEntity<ApiResponse<PayrollRunResult>> runPayrollForAllParlours() {
+        PayrollRunResult result = payrollService.runPayrollForAllParlours();
+        return ResponseEntity.ok(ApiResponse.success("Payroll run completed successfully", result));
+    }
+
+    @PostMapping("/customer-sketches/rebuild")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @Operation(summary = "Rebuild customer analytics sketches of all parlours")
+    public ResponseEntity<ApiResponse<Integer>> rebuildCustomerSketches() {
+        int parlours = customerAnalyticsService.rebuildAllSketches();
+        return ResponseEntity.ok(ApiResponse.success("Customer sketches rebuilt successfully", parlours));
+    }
+
+    @PostMapping("/customers/backfill")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @Operation(summary = "Create customers for older bookings and link the bookings to them")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> backfillCustomers() {
+        Map<String, Integer> result = customerBackfillService.backfill();
+        return ResponseEntity.ok(ApiResponse.success("Customers backfilled successfully", result));
+    }
+
+    @PostMapping("/bookings/price-backfill")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @Operation(summary = "Fill the booking price snapshot of bookings made before it was recorded")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> backfillBookingPrices() {
+        Map<String, Integer> filled = bookingPriceBackfillService.backfill();
+        return ResponseEntity.ok(ApiResponse.success("Booking prices backfilled successfully", filled));
+    }
+
+    @PostMapping("/analytics/columnar-refresh")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @Operation(summary = "Extract bookings into the columnar analytics store now")
+    public ResponseEntity<ApiResponse<Integer>> refreshColumnarAnalytics(
+            @RequestParam(defaultValue = "false") boolean full) {
+        int segments = bookingTrendService.refreshAll(full);
+        return ResponseEntity.ok(ApiResponse.success("Columnar analytics refreshed successfully", segments));
+    }
 }
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public class BookServiceRequest {
@@ -17,6 +18,11 @@ public class BookServiceRequest {
     @Pattern(regexp = "^[0-9]{10}$", message = "Phone number must be a 10-digit number")
     private String phone;
 
+    // Optional appointment; without staffId any free staff member is assigned
+    private LocalDateTime appointmentStart;
+
+    private UUID staffId;
+
     // Constructors
     public BookServiceRequest() {}
 
@@ -29,4 +35,10 @@ public class BookServiceRequest {
 
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
+
+    public LocalDateTime getAppointmentStart() { return appointmentStart; }
+    public void setAppointmentStart(LocalDateTime appointmentStart) { this.appointmentStart = appointmentStart; }
+
+    public UUID getStaffId() { return staffId; }
+    public void setStaffId(UUID staffId) { this.staffId = staffId; }
 }
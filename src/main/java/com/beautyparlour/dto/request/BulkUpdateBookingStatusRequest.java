@@ -0,0 +1,34 @@
+package com.beautyparlour.dto.request;
+
+import com.beautyparlour.constants.AppConstants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkUpdateBookingStatusRequest {
+    @NotEmpty(message = "At least one booking id is required")
+    @Size(max = AppConstants.Business.MAX_BULK_STATUS_UPDATE,
+          message = "At most " + AppConstants.Business.MAX_BULK_STATUS_UPDATE + " bookings can be updated at once")
+    private List<@NotNull UUID> bookingIds;
+
+    @NotNull(message = "Status is required")
+    private String status;
+
+    private String cancelReason;
+
+    // Constructors
+    public BulkUpdateBookingStatusRequest() {}
+
+    // Getters and Setters
+    public List<UUID> getBookingIds() { return bookingIds; }
+    public void setBookingIds(List<UUID> bookingIds) { this.bookingIds = bookingIds; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getCancelReason() { return cancelReason; }
+    public void setCancelReason(String cancelReason) { this.cancelReason = cancelReason; }
+}
@@ -1,5 +1,6 @@
 package com.beautyparlour.dto.request;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -23,6 +24,11 @@ public class CreateServiceRequest {
     @Positive(message = "Price must be positive")
     private BigDecimal price;
 
+    // Appointment length; 30 minutes when not given
+    @Positive(message = "Duration must be positive")
+    @Max(value = 480, message = "Duration must be at most 480 minutes")
+    private Integer durationMinutes;
+
     // Constructors
     public CreateServiceRequest() {}
 
@@ -38,4 +44,7 @@ public class CreateServiceRequest {
 
     public BigDecimal getPrice() { return price; }
     public void setPrice(BigDecimal price) { this.price = price; }
+
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
 }
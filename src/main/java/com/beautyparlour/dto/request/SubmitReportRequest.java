@@ -0,0 +1,37 @@
+package com.beautyparlour.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDate;
+
+public class SubmitReportRequest {
+    @NotBlank(message = "Report type is required")
+    private String type;
+
+    // Inclusive creation or payment date range; open ends default per report type
+    private LocalDate from;
+    private LocalDate to;
+
+    // Booking exports only
+    private String status;
+    private String format;
+
+    // Constructors
+    public SubmitReportRequest() {}
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+}
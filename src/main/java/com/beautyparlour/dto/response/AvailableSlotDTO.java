@@ -0,0 +1,56 @@
+package com.beautyparlour.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A free appointment time for a service and a staff member who can take it
+ */
+public class AvailableSlotDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private UUID staffId;
+    private String staffName;
+
+    public AvailableSlotDTO() {}
+
+    public AvailableSlotDTO(LocalDateTime start, LocalDateTime end, UUID staffId, String staffName) {
+        this.start = start;
+        this.end = end;
+        this.staffId = staffId;
+        this.staffName = staffName;
+    }
+
+    // Getters and setters
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+
+    public UUID getStaffId() {
+        return staffId;
+    }
+
+    public void setStaffId(UUID staffId) {
+        this.staffId = staffId;
+    }
+
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public void setStaffName(String staffName) {
+        this.staffName = staffName;
+    }
+}
@@ -0,0 +1,56 @@
+package com.beautyparlour.dto.response;
+
+import java.util.List;
+
+/**
+ * Bookings of a parlour created or modified after a change cursor
+ */
+public class BookingChangesDTO {
+    private List<ServiceBookingDTO> serviceBookings;
+    private List<CourseBookingDTO> courseBookings;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public BookingChangesDTO() {}
+
+    public BookingChangesDTO(List<ServiceBookingDTO> serviceBookings, List<CourseBookingDTO> courseBookings,
+                             String nextCursor, boolean hasMore) {
+        this.serviceBookings = serviceBookings;
+        this.courseBookings = courseBookings;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and setters
+    public List<ServiceBookingDTO> getServiceBookings() {
+        return serviceBookings;
+    }
+
+    public void setServiceBookings(List<ServiceBookingDTO> serviceBookings) {
+        this.serviceBookings = serviceBookings;
+    }
+
+    public List<CourseBookingDTO> getCourseBookings() {
+        return courseBookings;
+    }
+
+    public void setCourseBookings(List<CourseBookingDTO> courseBookings) {
+        this.courseBookings = courseBookings;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,61 @@
+package com.beautyparlour.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkStatusUpdateResult {
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, INVALID_TRANSITION
+    }
+
+    public static class BookingOutcome {
+        private UUID bookingId;
+        private Outcome outcome;
+        private String currentStatus;
+
+        public BookingOutcome() {}
+
+        public BookingOutcome(UUID bookingId, Outcome outcome, String currentStatus) {
+            this.bookingId = bookingId;
+            this.outcome = outcome;
+            this.currentStatus = currentStatus;
+        }
+
+        public UUID getBookingId() { return bookingId; }
+        public void setBookingId(UUID bookingId) { this.bookingId = bookingId; }
+
+        public Outcome getOutcome() { return outcome; }
+        public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+        public String getCurrentStatus() { return currentStatus; }
+        public void setCurrentStatus(String currentStatus) { this.currentStatus = currentStatus; }
+    }
+
+    private String targetStatus;
+    private int updatedCount;
+    private int rejectedCount;
+    private List<BookingOutcome> results;
+
+    public BulkStatusUpdateResult() {}
+
+    public BulkStatusUpdateResult(String targetStatus, List<BookingOutcome> results) {
+        this.targetStatus = targetStatus;
+        this.results = results;
+        this.updatedCount = (int) results.stream().filter(r -> r.getOutcome() == Outcome.UPDATED).count();
+        this.rejectedCount = results.size() - updatedCount;
+    }
+
+    // Getters and Setters
+    public String getTargetStatus() { return targetStatus; }
+    public void setTargetStatus(String targetStatus) { this.targetStatus = targetStatus; }
+
+    public int getUpdatedCount() { return updatedCount; }
+    public void setUpdatedCount(int updatedCount) { this.updatedCount = updatedCount; }
+
+    public int getRejectedCount() { return rejectedCount; }
+    public void setRejectedCount(int rejectedCount) { this.rejectedCount = rejectedCount; }
+
+    public List<BookingOutcome> getResults() { return results; }
+    public void setResults(List<BookingOutcome> results) { this.results = results; }
+}
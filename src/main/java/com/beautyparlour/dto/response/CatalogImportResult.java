@@ -0,0 +1,54 @@
+package com.beautyparlour.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CatalogImportResult {
+
+    public static class LineError {
+        private long line;
+        private String message;
+
+        public LineError() {}
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    private int categoriesCreated;
+    private int servicesCreated;
+    private int coursesCreated;
+    private int skippedExisting;
+    private int errorCount;
+    private List<LineError> errors = new ArrayList<>();
+
+    // Constructors
+    public CatalogImportResult() {}
+
+    // Getters and Setters
+    public int getCategoriesCreated() { return categoriesCreated; }
+    public void setCategoriesCreated(int categoriesCreated) { this.categoriesCreated = categoriesCreated; }
+
+    public int getServicesCreated() { return servicesCreated; }
+    public void setServicesCreated(int servicesCreated) { this.servicesCreated = servicesCreated; }
+
+    public int getCoursesCreated() { return coursesCreated; }
+    public void setCoursesCreated(int coursesCreated) { this.coursesCreated = coursesCreated; }
+
+    public int getSkippedExisting() { return skippedExisting; }
+    public void setSkippedExisting(int skippedExisting) { this.skippedExisting = skippedExisting; }
+
+    public int getErrorCount() { return errorCount; }
+    public void setErrorCount(int errorCount) { this.errorCount = errorCount; }
+
+    public List<LineError> getErrors() { return errors; }
+    public void setErrors(List<LineError> errors) { this.errors = errors; }
+}
@@ -0,0 +1,45 @@
+package com.beautyparlour.dto.response;
+
+import com.beautyparlour.entity.Category;
+
+import java.util.UUID;
+
+public class CategoryDTO {
+    private UUID id;
+    private UUID parlourId;
+    private String name;
+
+    public CategoryDTO() {
+    }
+
+    public CategoryDTO(Category category) {
+        this.id = category.getId();
+        this.parlourId = category.getParlourId();
+        this.name = category.getName();
+    }
+
+    // Getters and setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getParlourId() {
+        return parlourId;
+    }
+
+    public void setParlourId(UUID parlourId) {
+        this.parlourId = parlourId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,137 @@
+package com.beautyparlour.dto.response;
+
+import com.beautyparlour.entity.CourseBooking;
+import com.beautyparlour.entity.ServiceBooking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A service or course booking as shown in the combined client lookup
+ */
+public class ClientBookingDTO {
+    private String bookingType;
+    private UUID id;
+    private UUID parlourId;
+    private UUID itemId;
+    private String itemName;
+    private String itemImageUrl;
+    private String status;
+    private String cancelReason;
+    private BigDecimal priceAtBooking;
+    private LocalDateTime createdAt;
+
+    public ClientBookingDTO() {}
+
+    public ClientBookingDTO(ServiceBooking booking) {
+        this.bookingType = "SERVICE";
+        this.id = booking.getId();
+        this.parlourId = booking.getParlourId();
+        this.itemId = booking.getServiceId();
+        this.status = booking.getStatus().name();
+        this.cancelReason = booking.getCancelReason();
+        this.priceAtBooking = booking.getPriceAtBooking();
+        this.createdAt = booking.getCreatedAt();
+        if (booking.getService() != null) {
+            this.itemName = booking.getService().getName();
+            this.itemImageUrl = booking.getService().getImageUrl();
+        }
+    }
+
+    public ClientBookingDTO(CourseBooking booking) {
+        this.bookingType = "COURSE";
+        this.id = booking.getId();
+        this.parlourId = booking.getParlourId();
+        this.itemId = booking.getCourseId();
+        this.status = booking.getStatus().name();
+        this.cancelReason = booking.getCancelReason();
+        this.priceAtBooking = booking.getPriceAtBooking();
+        this.createdAt = booking.getCreatedAt();
+        if (booking.getCourse() != null) {
+            this.itemName = booking.getCourse().getName();
+            this.itemImageUrl = booking.getCourse().getImageUrl();
+        }
+    }
+
+    // Getters and setters
+    public String getBookingType() {
+        return bookingType;
+    }
+
+    public void setBookingType(String bookingType) {
+        this.bookingType = bookingType;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getParlourId() {
+        return parlourId;
+    }
+
+    public void setParlourId(UUID parlourId) {
+        this.parlourId = parlourId;
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public String getItemImageUrl() {
+        return itemImageUrl;
+    }
+
+    public void setItemImageUrl(String itemImageUrl) {
+        this.itemImageUrl = itemImageUrl;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    public void setCancelReason(String cancelReason) {
+        this.cancelReason = cancelReason;
+    }
+
+    public BigDecimal getPriceAtBooking() {
+        return priceAtBooking;
+    }
+
+    public void setPriceAtBooking(BigDecimal priceAtBooking) {
+        this.priceAtBooking = priceAtBooking;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,7 +1,9 @@
 package com.beautyparlour.dto.response;
 
+import com.beautyparlour.entity.ArchivedCourseBooking;
 import com.beautyparlour.entity.CourseBooking;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -13,7 +15,9 @@ public class CourseBookingDTO {
     private String phone;
     private CourseBooking.BookingStatus status;
     private String cancelReason;
+    private BigDecimal priceAtBooking;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
     private CourseDTO course;
 
     public CourseBookingDTO() {
@@ -27,13 +31,32 @@ public class CourseBookingDTO {
         this.phone = booking.getPhone();
         this.status = booking.getStatus();
         this.cancelReason = booking.getCancelReason();
+        this.priceAtBooking = booking.getPriceAtBooking();
         this.createdAt = booking.getCreatedAt();
+        this.updatedAt = booking.getUpdatedAt();
 
         if (booking.getCourse() != null) {
             this.course = new CourseDTO(booking.getCourse());
         }
     }
 
+    public CourseBookingDTO(ArchivedCourseBooking archivedBooking) {
+        this.id = archivedBooking.getId();
+        this.parlourId = archivedBooking.getParlourId();
+        this.courseId = archivedBooking.getCourseId();
+        this.clientName = archivedBooking.getClientName();
+        this.phone = archivedBooking.getPhone();
+        this.status = archivedBooking.getStatus();
+        this.cancelReason = archivedBooking.getCancelReason();
+        this.priceAtBooking = archivedBooking.getPriceAtBooking();
+        this.createdAt = archivedBooking.getCreatedAt();
+        this.updatedAt = archivedBooking.getUpdatedAt();
+
+        if (archivedBooking.getCourse() != null) {
+            this.course = new CourseDTO(archivedBooking.getCourse());
+        }
+    }
+
     // Getters and Setters
     public UUID getId() {
         return id;
@@ -91,6 +114,14 @@ public class CourseBookingDTO {
         this.cancelReason = cancelReason;
     }
 
+    public BigDecimal getPriceAtBooking() {
+        return priceAtBooking;
+    }
+
+    public void setPriceAtBooking(BigDecimal priceAtBooking) {
+        this.priceAtBooking = priceAtBooking;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -99,6 +130,14 @@ public class CourseBookingDTO {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public CourseDTO getCourse() {
         return course;
     }
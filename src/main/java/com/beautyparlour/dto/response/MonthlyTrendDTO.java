@@ -0,0 +1,75 @@
+package com.beautyparlour.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Booking counts and completed revenue of one calendar month
+ */
+public class MonthlyTrendDTO {
+    private String month;
+    private long totalBookings;
+    private long pendingBookings;
+    private long acceptedBookings;
+    private long completedBookings;
+    private long cancelledBookings;
+    private BigDecimal revenue;
+
+    public MonthlyTrendDTO() {}
+
+    // Getters and setters
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public long getTotalBookings() {
+        return totalBookings;
+    }
+
+    public void setTotalBookings(long totalBookings) {
+        this.totalBookings = totalBookings;
+    }
+
+    public long getPendingBookings() {
+        return pendingBookings;
+    }
+
+    public void setPendingBookings(long pendingBookings) {
+        this.pendingBookings = pendingBookings;
+    }
+
+    public long getAcceptedBookings() {
+        return acceptedBookings;
+    }
+
+    public void setAcceptedBookings(long acceptedBookings) {
+        this.acceptedBookings = acceptedBookings;
+    }
+
+    public long getCompletedBookings() {
+        return completedBookings;
+    }
+
+    public void setCompletedBookings(long completedBookings) {
+        this.completedBookings = completedBookings;
+    }
+
+    public long getCancelledBookings() {
+        return cancelledBookings;
+    }
+
+    public void setCancelledBookings(long cancelledBookings) {
+        this.cancelledBookings = cancelledBookings;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
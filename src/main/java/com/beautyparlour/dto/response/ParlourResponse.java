@@ -6,6 +6,7 @@ import java.util.UUID;
 public class ParlourResponse {
     private UUID parlourId;
     private String name;
+    private String slug;
     private String logoUrl;
     private String contactInfo;
     private LocalDateTime createdAt;
@@ -22,6 +23,9 @@ public class ParlourResponse {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
+    public String getSlug() { return slug; }
+    public void setSlug(String slug) { this.slug = slug; }
+
     public String getLogoUrl() { return logoUrl; }
     public void setLogoUrl(String logoUrl) { this.logoUrl = logoUrl; }
 
@@ -0,0 +1,48 @@
+package com.beautyparlour.dto.response;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class PayrollRunResult {
+    private String month;
+    private int parloursProcessed;
+    private int staffPaid;
+    private int staffAlreadyPaid;
+    private BigDecimal totalNetSalary = BigDecimal.ZERO;
+    private List<UUID> failedParlourIds = new ArrayList<>();
+
+    // Constructors
+    public PayrollRunResult() {}
+
+    public PayrollRunResult(String month) {
+        this.month = month;
+    }
+
+    public void addParlour(int paid, int alreadyPaid, BigDecimal netSalary) {
+        this.parloursProcessed++;
+        this.staffPaid += paid;
+        this.staffAlreadyPaid += alreadyPaid;
+        this.totalNetSalary = this.totalNetSalary.add(netSalary);
+    }
+
+    // Getters and Setters
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+
+    public int getParloursProcessed() { return parloursProcessed; }
+    public void setParloursProcessed(int parloursProcessed) { this.parloursProcessed = parloursProcessed; }
+
+    public int getStaffPaid() { return staffPaid; }
+    public void setStaffPaid(int staffPaid) { this.staffPaid = staffPaid; }
+
+    public int getStaffAlreadyPaid() { return staffAlreadyPaid; }
+    public void setStaffAlreadyPaid(int staffAlreadyPaid) { this.staffAlreadyPaid = staffAlreadyPaid; }
+
+    public BigDecimal getTotalNetSalary() { return totalNetSalary; }
+    public void setTotalNetSalary(BigDecimal totalNetSalary) { this.totalNetSalary = totalNetSalary; }
+
+    public List<UUID> getFailedParlourIds() { return failedParlourIds; }
+    public void setFailedParlourIds(List<UUID> failedParlourIds) { this.failedParlourIds = failedParlourIds; }
+}
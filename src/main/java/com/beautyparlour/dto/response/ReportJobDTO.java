@@ -0,0 +1,127 @@
+package com.beautyparlour.dto.response;
+
+import com.beautyparlour.entity.ReportJob;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ReportJobDTO {
+    private UUID id;
+    private ReportJob.ReportType type;
+    private ReportJob.Status status;
+    private int progress;
+    private Long resultSize;
+    private String errorMessage;
+    private String downloadUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt;
+
+    public ReportJobDTO() {
+    }
+
+    public ReportJobDTO(ReportJob job) {
+        this.id = job.getId();
+        this.type = job.getReportType();
+        this.status = job.getStatus();
+        this.progress = job.getProgress();
+        this.resultSize = job.getResultSize();
+        this.errorMessage = job.getErrorMessage();
+        this.createdAt = job.getCreatedAt();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.expiresAt = job.getExpiresAt();
+        if (job.getStatus() == ReportJob.Status.SUCCEEDED) {
+            this.downloadUrl = "/admin/reports/" + job.getId() + "/download";
+        }
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public ReportJob.ReportType getType() {
+        return type;
+    }
+
+    public void setType(ReportJob.ReportType type) {
+        this.type = type;
+    }
+
+    public ReportJob.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportJob.Status status) {
+        this.status = status;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    public Long getResultSize() {
+        return resultSize;
+    }
+
+    public void setResultSize(Long resultSize) {
+        this.resultSize = resultSize;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,7 +1,9 @@
 package com.beautyparlour.dto.response;
 
+import com.beautyparlour.entity.ArchivedServiceBooking;
 import com.beautyparlour.entity.ServiceBooking;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -13,7 +15,12 @@ public class ServiceBookingDTO {
     private String phone;
     private ServiceBooking.BookingStatus status;
     private String cancelReason;
+    private BigDecimal priceAtBooking;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private UUID staffId;
+    private LocalDateTime appointmentStart;
+    private LocalDateTime appointmentEnd;
     
     // Service details
     private String serviceName;
@@ -30,7 +37,12 @@ public class ServiceBookingDTO {
         this.phone = serviceBooking.getPhone();
         this.status = serviceBooking.getStatus();
         this.cancelReason = serviceBooking.getCancelReason();
+        this.priceAtBooking = serviceBooking.getPriceAtBooking();
         this.createdAt = serviceBooking.getCreatedAt();
+        this.updatedAt = serviceBooking.getUpdatedAt();
+        this.staffId = serviceBooking.getStaffId();
+        this.appointmentStart = serviceBooking.getAppointmentStart();
+        this.appointmentEnd = serviceBooking.getAppointmentEnd();
 
         // Safely get service details only if service is loaded
         if (serviceBooking.getService() != null) {
@@ -39,6 +51,27 @@ public class ServiceBookingDTO {
         }
     }
 
+    public ServiceBookingDTO(ArchivedServiceBooking archivedBooking) {
+        this.id = archivedBooking.getId();
+        this.parlourId = archivedBooking.getParlourId();
+        this.serviceId = archivedBooking.getServiceId();
+        this.clientName = archivedBooking.getClientName();
+        this.phone = archivedBooking.getPhone();
+        this.status = archivedBooking.getStatus();
+        this.cancelReason = archivedBooking.getCancelReason();
+        this.priceAtBooking = archivedBooking.getPriceAtBooking();
+        this.createdAt = archivedBooking.getCreatedAt();
+        this.updatedAt = archivedBooking.getUpdatedAt();
+        this.staffId = archivedBooking.getStaffId();
+        this.appointmentStart = archivedBooking.getAppointmentStart();
+        this.appointmentEnd = archivedBooking.getAppointmentEnd();
+
+        if (archivedBooking.getService() != null) {
+            this.serviceName = archivedBooking.getService().getName();
+            this.serviceImageUrl = archivedBooking.getService().getImageUrl();
+        }
+    }
+
     // Getters and setters
     public UUID getId() {
         return id;
@@ -96,6 +129,14 @@ public class ServiceBookingDTO {
         this.cancelReason = cancelReason;
     }
 
+    public BigDecimal getPriceAtBooking() {
+        return priceAtBooking;
+    }
+
+    public void setPriceAtBooking(BigDecimal priceAtBooking) {
+        this.priceAtBooking = priceAtBooking;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -104,6 +145,38 @@ public class ServiceBookingDTO {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getStaffId() {
+        return staffId;
+    }
+
+    public void setStaffId(UUID staffId) {
+        this.staffId = staffId;
+    }
+
+    public LocalDateTime getAppointmentStart() {
+        return appointmentStart;
+    }
+
+    public void setAppointmentStart(LocalDateTime appointmentStart) {
+        this.appointmentStart = appointmentStart;
+    }
+
+    public LocalDateTime getAppointmentEnd() {
+        return appointmentEnd;
+    }
+
+    public void setAppointmentEnd(LocalDateTime appointmentEnd) {
+        this.appointmentEnd = appointmentEnd;
+    }
+
     public String getServiceName() {
         return serviceName;
     }
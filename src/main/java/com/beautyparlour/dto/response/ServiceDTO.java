@@ -12,6 +12,7 @@ public class ServiceDTO {
     private String name;
     private String imageUrl;
     private BigDecimal price;
+    private int durationMinutes;
     private String categoryName;
 
     public ServiceDTO() {
@@ -24,6 +25,7 @@ public class ServiceDTO {
         this.name = service.getName();
         this.imageUrl = service.getImageUrl();
         this.price = service.getPrice();
+        this.durationMinutes = service.getDurationMinutes();
 
         // Safely get category name only if category is loaded
         if (service.getCategory() != null) {
@@ -80,6 +82,14 @@ public class ServiceDTO {
         this.price = price;
     }
 
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
     public String getCategoryName() {
         return categoryName;
     }
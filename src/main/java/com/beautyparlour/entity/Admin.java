@@ -1,12 +1,17 @@
 package com.beautyparlour.entity;
 
+import com.beautyparlour.constants.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CacheRegions.ADMINS)
 @Table(name = "admins")
 public class Admin {
     @Id
@@ -0,0 +1,108 @@
+package com.beautyparlour.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Completed or cancelled service booking moved out of the hot table by the archiver.
+ * Rows are written only by SQL in {@code BookingArchiveService} and are read-only here.
+ */
+@Entity
+@Table(name = "service_bookings_archive")
+public class ArchivedServiceBooking {
+    @Id
+    private UUID id;
+
+    @Column(name = "parlour_id", nullable = false)
+    private UUID parlourId;
+
+    @Column(name = "service_id", nullable = false)
+    private UUID serviceId;
+
+    @Column(name = "client_name", nullable = false)
+    private String clientName;
+
+    @Column(nullable = false)
+    private String phone;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ServiceBooking.BookingStatus status;
+
+    @Column(name = "cancel_reason")
+    private String cancelReason;
+
+    // Price of the service or course when the booking was made
+    @Column(name = "price_at_booking", precision = 10, scale = 2)
+    private BigDecimal priceAtBooking;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "customer_id")
+    private UUID customerId;
+
+    @Column(name = "staff_id")
+    private UUID staffId;
+
+    @Column(name = "appointment_start")
+    private LocalDateTime appointmentStart;
+
+    @Column(name = "appointment_end")
+    private LocalDateTime appointmentEnd;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Generated by the database from client_name; see ClientNameUtils.normalize
+    @Column(name = "normalized_name", insertable = false, updatable = false)
+    private String normalizedName;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", insertable = false, updatable = false)
+    private Service service;
+
+    // Constructors
+    public ArchivedServiceBooking() {}
+
+    // Getters
+    public UUID getId() { return id; }
+
+    public UUID getParlourId() { return parlourId; }
+
+    public UUID getServiceId() { return serviceId; }
+
+    public String getClientName() { return clientName; }
+
+    public String getPhone() { return phone; }
+
+    public String getNormalizedName() { return normalizedName; }
+
+    public ServiceBooking.BookingStatus getStatus() { return status; }
+
+    public String getCancelReason() { return cancelReason; }
+
+    public BigDecimal getPriceAtBooking() { return priceAtBooking; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public UUID getCustomerId() { return customerId; }
+
+    public UUID getStaffId() { return staffId; }
+
+    public LocalDateTime getAppointmentStart() { return appointmentStart; }
+
+    public LocalDateTime getAppointmentEnd() { return appointmentEnd; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+
+    public Service getService() { return service; }
+}
@@ -1,11 +1,16 @@
 package com.beautyparlour.entity;
 
+import com.beautyparlour.constants.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CacheRegions.CATEGORIES)
 @Table(name = "categories")
 public class Category {
     @Id
@@ -3,7 +3,10 @@ package com.beautyparlour.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -11,7 +14,7 @@ import java.util.UUID;
 @Table(name = "course_bookings")
 public class CourseBooking {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(name = "parlour_id", nullable = false)
@@ -35,10 +38,28 @@ public class CourseBooking {
     @Column(name = "cancel_reason")
     private String cancelReason;
 
+    // Price of the service or course when the booking was made
+    @Column(name = "price_at_booking", precision = 10, scale = 2)
+    private BigDecimal priceAtBooking;
+
+    // Partition key of the booking tables, so it must never be null or change
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Set by the database on every change, including the conditional and bulk status updates, so the
+    // change feed compares times from a single clock; see V15
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "customer_id")
+    private UUID customerId;
+
+    // Generated by the database from client_name; see ClientNameUtils.normalize
+    @Column(name = "normalized_name", insertable = false, updatable = false)
+    private String normalizedName;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", insertable = false, updatable = false)
     private Course course;
@@ -79,9 +100,19 @@ public class CourseBooking {
     public String getCancelReason() { return cancelReason; }
     public void setCancelReason(String cancelReason) { this.cancelReason = cancelReason; }
 
+    public BigDecimal getPriceAtBooking() { return priceAtBooking; }
+    public void setPriceAtBooking(BigDecimal priceAtBooking) { this.priceAtBooking = priceAtBooking; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public UUID getCustomerId() { return customerId; }
+    public void setCustomerId(UUID customerId) { this.customerId = customerId; }
+
+    public String getNormalizedName() { return normalizedName; }
+
     public Course getCourse() { return course; }
     public void setCourse(Course course) { this.course = course; }
 }
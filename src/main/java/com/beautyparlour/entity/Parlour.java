@@ -1,13 +1,18 @@
 package com.beautyparlour.entity;
 
+import com.beautyparlour.constants.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CacheRegions.PARLOURS)
 @Table(name = "parlours")
 public class Parlour {
     @Id
@@ -19,6 +24,10 @@ public class Parlour {
     @Column(nullable = false)
     private String name;
 
+    // Public identifier for anonymous catalog requests
+    @Column(nullable = false, unique = true, length = 120)
+    private String slug;
+
     @Column(name = "logo_url")
     private String logoUrl;
 
@@ -45,6 +54,9 @@ public class Parlour {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
+    public String getSlug() { return slug; }
+    public void setSlug(String slug) { this.slug = slug; }
+
     public String getLogoUrl() { return logoUrl; }
     public void setLogoUrl(String logoUrl) { this.logoUrl = logoUrl; }
 
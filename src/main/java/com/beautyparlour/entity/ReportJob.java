@@ -0,0 +1,126 @@
+package com.beautyparlour.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "report_jobs")
+public class ReportJob {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "parlour_id", nullable = false)
+    private UUID parlourId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 40)
+    private ReportType reportType;
+
+    // Report parameters as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String parameters;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.QUEUED;
+
+    @Column(nullable = false)
+    private int progress;
+
+    @Column(name = "result_path", length = 500)
+    private String resultPath;
+
+    @Column(name = "result_content_type", length = 100)
+    private String resultContentType;
+
+    @Column(name = "result_size")
+    private Long resultSize;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public enum ReportType {
+        SERVICE_BOOKINGS, COURSE_BOOKINGS, PAYROLL_HISTORY, BOOKING_ANALYTICS;
+
+        public static ReportType from(String value) {
+            try {
+                return ReportType.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported report type: " + value);
+            }
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, EXPIRED
+    }
+
+    // Constructors
+    public ReportJob() {}
+
+    public ReportJob(UUID parlourId, ReportType reportType, String parameters) {
+        this.parlourId = parlourId;
+        this.reportType = reportType;
+        this.parameters = parameters;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getParlourId() { return parlourId; }
+    public void setParlourId(UUID parlourId) { this.parlourId = parlourId; }
+
+    public ReportType getReportType() { return reportType; }
+    public void setReportType(ReportType reportType) { this.reportType = reportType; }
+
+    public String getParameters() { return parameters; }
+    public void setParameters(String parameters) { this.parameters = parameters; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getProgress() { return progress; }
+    public void setProgress(int progress) { this.progress = progress; }
+
+    public String getResultPath() { return resultPath; }
+    public void setResultPath(String resultPath) { this.resultPath = resultPath; }
+
+    public String getResultContentType() { return resultContentType; }
+    public void setResultContentType(String resultContentType) { this.resultContentType = resultContentType; }
+
+    public Long getResultSize() { return resultSize; }
+    public void setResultSize(Long resultSize) { this.resultSize = resultSize; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
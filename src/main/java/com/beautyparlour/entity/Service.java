@@ -1,14 +1,19 @@
 package com.beautyparlour.entity;
 
+import com.beautyparlour.constants.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CacheRegions.SERVICES)
 @Table(name = "services")
 public class Service {
     @Id
@@ -33,6 +38,11 @@ public class Service {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    // Length of an appointment for this service
+    @Positive
+    @Column(name = "duration_minutes", nullable = false)
+    private int durationMinutes = 30;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", insertable = false, updatable = false)
     private Category category;
@@ -67,6 +77,9 @@ public class Service {
     public BigDecimal getPrice() { return price; }
     public void setPrice(BigDecimal price) { this.price = price; }
 
+    public int getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(int durationMinutes) { this.durationMinutes = durationMinutes; }
+
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
 }
@@ -0,0 +1,39 @@
+package com.beautyparlour.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outstanding advance of a staff member in the current pay period.
+ * Written only through {@link com.beautyparlour.repository.StaffAdvanceBalanceJdbcRepository}
+ * so every change is a single atomic statement.
+ */
+@Entity
+@Table(name = "staff_advance_balance")
+public class StaffAdvanceBalance {
+    @Id
+    @Column(name = "staff_id")
+    private UUID staffId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal outstanding;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public StaffAdvanceBalance() {}
+
+    // Getters and Setters
+    public UUID getStaffId() { return staffId; }
+    public void setStaffId(UUID staffId) { this.staffId = staffId; }
+
+    public BigDecimal getOutstanding() { return outstanding; }
+    public void setOutstanding(BigDecimal outstanding) { this.outstanding = outstanding; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -13,7 +13,7 @@ import java.util.UUID;
 @Table(name = "staff_advance_pay")
 public class StaffAdvancePay {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(name = "staff_id", nullable = false)
@@ -12,7 +12,7 @@ import java.util.UUID;
 @Table(name = "staff_salary_log")
 public class StaffSalaryLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(name = "staff_id", nullable = false)
@@ -11,15 +11,17 @@ public class BookingCreatedEvent extends ApplicationEvent {
     private final UUID bookingId;
     private final UUID parlourId;
     private final String bookingType; // "SERVICE" or "COURSE"
+    private final UUID itemId; // booked service or course
     private final String clientName;
     private final String clientPhone;
 
     public BookingCreatedEvent(Object source, UUID bookingId, UUID parlourId, 
-                              String bookingType, String clientName, String clientPhone) {
+                              String bookingType, UUID itemId, String clientName, String clientPhone) {
         super(source);
         this.bookingId = bookingId;
         this.parlourId = parlourId;
         this.bookingType = bookingType;
+        this.itemId = itemId;
         this.clientName = clientName;
         this.clientPhone = clientPhone;
     }
@@ -36,6 +38,10 @@ public class BookingCreatedEvent extends ApplicationEvent {
         return bookingType;
     }
 
+    public UUID getItemId() {
+        return itemId;
+    }
+
     public String getClientName() {
         return clientName;
     }
@@ -0,0 +1,46 @@
+package com.beautyparlour.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Event published when a booking moves to a new status
+ */
+public class BookingStatusChangedEvent extends ApplicationEvent {
+    private final UUID bookingId;
+    private final UUID parlourId;
+    private final String bookingType; // "SERVICE" or "COURSE"
+    private final String status;
+    private final String cancelReason;
+
+    public BookingStatusChangedEvent(Object source, UUID bookingId, UUID parlourId,
+                                     String bookingType, String status, String cancelReason) {
+        super(source);
+        this.bookingId = bookingId;
+        this.parlourId = parlourId;
+        this.bookingType = bookingType;
+        this.status = status;
+        this.cancelReason = cancelReason;
+    }
+
+    public UUID getBookingId() {
+        return bookingId;
+    }
+
+    public UUID getParlourId() {
+        return parlourId;
+    }
+
+    public String getBookingType() {
+        return bookingType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCancelReason() {
+        return cancelReason;
+    }
+}
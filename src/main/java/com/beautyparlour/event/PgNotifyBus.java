@@ -0,0 +1,212 @@
+package com.beautyparlour.event;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node messaging over PostgreSQL LISTEN/NOTIFY.
+ * <p>
+ * Messages are sent with {@code pg_notify} on the caller's connection, so a message published inside a
+ * transaction is only delivered if and when it commits. Each node receives on one dedicated connection
+ * (outside the pool) read by a single background thread, which reconnects with backoff. Notifications
+ * sent while a node was disconnected are lost, so subscribers are told about every reconnect and should
+ * treat it as "anything may have changed". A node never receives its own messages.
+ */
+@Component
+public class PgNotifyBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PgNotifyBus.class);
+
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long KEEPALIVE_INTERVAL_MS = 30000;
+    private static final long MAX_BACKOFF_MS = 30000;
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<String> pendingListens = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notify-bus.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    /**
+     * Sends a message to every other node subscribed to the channel.
+     * @param channel lower-case channel name
+     * @param payload message body; must stay below 8000 bytes
+     */
+    public void publish(String channel, String payload) {
+        if (!enabled) {
+            return;
+        }
+        String message = nodeId + "|" + payload;
+        if (message.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Notification payload too large for channel " + channel);
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, channel, message);
+    }
+
+    /**
+     * Registers a handler for messages published on the channel by other nodes.
+     * Handlers run on the listener thread and must not block.
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        checkChannel(channel);
+        handlers.computeIfAbsent(channel, c -> {
+            pendingListens.add(c);
+            return new CopyOnWriteArrayList<>();
+        }).add(handler);
+    }
+
+    /**
+     * Registers a callback run after the listen connection was re-established (messages may have been missed).
+     */
+    public void onReconnect(Runnable listener) {
+        reconnectListeners.add(listener);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "pg-notify-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        long backoff = 1000;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                // LISTEN is idempotent, so channels still queued in pendingListens are harmless
+                for (String channel : handlers.keySet()) {
+                    listen(connection, channel);
+                }
+                if (connectedBefore) {
+                    logger.info("Notification listener reconnected");
+                    reconnectListeners.forEach(this::runSafely);
+                }
+                connectedBefore = true;
+                backoff = 1000;
+
+                long lastKeepalive = System.currentTimeMillis();
+                while (running) {
+                    String channel;
+                    while ((channel = pendingListens.poll()) != null) {
+                        listen(connection, channel);
+                    }
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName(), notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() - lastKeepalive > KEEPALIVE_INTERVAL_MS) {
+                        // Detects half-open connections that would otherwise just stop delivering
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        lastKeepalive = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                logger.warn("Notification listener connection lost, retrying in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void listen(Connection connection, String channel) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN \"" + channel + "\"");
+        }
+    }
+
+    private void dispatch(String channel, String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String payload = message.substring(separator + 1);
+        for (Consumer<String> handler : handlers.getOrDefault(channel, List.of())) {
+            runSafely(() -> handler.accept(payload));
+        }
+    }
+
+    private void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            logger.error("Notification handler failed", e);
+        }
+    }
+
+    private void checkChannel(String channel) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.dto.response.BookingAnalyticsDTO;
+import com.beautyparlour.dto.response.DashboardAnalyticsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Aggregate queries for the admin dashboard and analytics. Every figure set is computed in a
+ * single statement with FILTER aggregates instead of one COUNT query per status, period and table.
+ */
+@Repository
+public class AnalyticsJdbcRepository {
+
+    private static final String DASHBOARD_SQL =
+            "WITH bookings AS (" +
+            "  SELECT status, created_at, price_at_booking FROM service_bookings WHERE parlour_id = :parlourId" +
+            "  UNION ALL" +
+            "  SELECT status, created_at, price_at_booking FROM course_bookings WHERE parlour_id = :parlourId" +
+            "  UNION ALL" +
+            "  SELECT status, created_at, price_at_booking FROM service_bookings_archive WHERE parlour_id = :parlourId" +
+            "  UNION ALL" +
+            "  SELECT status, created_at, price_at_booking FROM course_bookings_archive WHERE parlour_id = :parlourId" +
+            "), totals AS (" +
+            "  SELECT COUNT(*) AS total_bookings," +
+            "    COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed_bookings," +
+            "    COUNT(*) FILTER (WHERE status = 'PENDING') AS pending_bookings," +
+            "    COUNT(*) FILTER (WHERE status = 'CANCELLED') AS cancelled_bookings," +
+            "    COALESCE(SUM(price_at_booking) FILTER (WHERE status = 'COMPLETED'), 0) AS total_revenue," +
+            "    COUNT(*) FILTER (WHERE created_at >= :thisMonth) AS bookings_this_month," +
+            "    COUNT(*) FILTER (WHERE created_at >= :lastMonth AND created_at < :thisMonth) AS bookings_last_month" +
+            "  FROM bookings" +
+            ") " +
+            "SELECT t.*," +
+            "  (SELECT COUNT(*) FROM staffs WHERE parlour_id = :parlourId) AS total_staff," +
+            "  (SELECT COUNT(*) FROM services WHERE parlour_id = :parlourId) AS total_services," +
+            "  (SELECT COUNT(*) FROM courses WHERE parlour_id = :parlourId) AS total_courses " +
+            "FROM totals t";
+
+    // Revenue is read from the booking rows' price snapshot, covered by the (parlour_id, status, created_at) indexes
+    // of the live and archive tables
+    private static final String BOOKING_STATS_SQL =
+            "WITH bookings AS (" +
+            "  SELECT status, price_at_booking FROM service_bookings" +
+            "  WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            "  UNION ALL" +
+            "  SELECT status, price_at_booking FROM course_bookings" +
+            "  WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            "  UNION ALL" +
+            "  SELECT status, price_at_booking FROM service_bookings_archive" +
+            "  WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            "  UNION ALL" +
+            "  SELECT status, price_at_booking FROM course_bookings_archive" +
+            "  WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            ") " +
+            "SELECT COUNT(*) AS total_bookings," +
+            "  COUNT(*) FILTER (WHERE status = 'PENDING') AS pending_bookings," +
+            "  COUNT(*) FILTER (WHERE status = 'ACCEPTED') AS accepted_bookings," +
+            "  COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed_bookings," +
+            "  COUNT(*) FILTER (WHERE status = 'CANCELLED') AS cancelled_bookings," +
+            "  COALESCE(SUM(price_at_booking) FILTER (WHERE status = 'COMPLETED'), 0) AS total_revenue," +
+            "  COALESCE(AVG(price_at_booking) FILTER (WHERE status = 'COMPLETED'), 0) AS average_booking_value " +
+            "FROM bookings";
+
+    // Only the range is scanned; whether a customer is new comes from their first booking on the customers row.
+    // Bookings not yet linked by CustomerBackfillService are left out.
+    private static final String CUSTOMER_STATS_SQL =
+            "WITH in_range AS (" +
+            "  SELECT customer_id, COUNT(*) AS bookings FROM (" +
+            "    SELECT customer_id FROM service_bookings WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            "    UNION ALL SELECT customer_id FROM course_bookings WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            "    UNION ALL SELECT customer_id FROM service_bookings_archive WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            "    UNION ALL SELECT customer_id FROM course_bookings_archive WHERE parlour_id = :parlourId AND created_at >= :from AND created_at < :to" +
+            "  ) b GROUP BY customer_id" +
+            ") " +
+            "SELECT COUNT(*) AS total_customers," +
+            "  COUNT(*) FILTER (WHERE c.first_booking_at >= :from) AS new_customers," +
+            "  COALESCE(SUM(r.bookings), 0) AS bookings " +
+            "FROM in_range r JOIN customers c ON c.id = r.customer_id";
+
+    public static class CustomerStats {
+        private final long totalCustomers;
+        private final long newCustomers;
+        private final long bookings;
+
+        public CustomerStats(long totalCustomers, long newCustomers, long bookings) {
+            this.totalCustomers = totalCustomers;
+            this.newCustomers = newCustomers;
+            this.bookings = bookings;
+        }
+
+        public long getTotalCustomers() { return totalCustomers; }
+        public long getNewCustomers() { return newCustomers; }
+        public long getBookings() { return bookings; }
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Dashboard figures of a parlour over its service and course bookings, live and archived,
+     * so the all-time totals and revenue do not shrink when bookings are archived.
+     * The most popular service is not included; it comes from {@code PopularServicesTracker}.
+     * @param thisMonth start of the current month
+     * @param lastMonth start of the previous month
+     */
+    public DashboardAnalyticsDTO getDashboard(UUID parlourId, LocalDateTime thisMonth, LocalDateTime lastMonth) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("parlourId", parlourId)
+                .addValue("thisMonth", thisMonth)
+                .addValue("lastMonth", lastMonth);
+
+        return namedParameterJdbcTemplate.queryForObject(DASHBOARD_SQL, params, (rs, rowNum) -> {
+            DashboardAnalyticsDTO dto = new DashboardAnalyticsDTO();
+            dto.setTotalBookings(rs.getLong("total_bookings"));
+            dto.setCompletedBookings(rs.getLong("completed_bookings"));
+            dto.setPendingBookings(rs.getLong("pending_bookings"));
+            dto.setCancelledBookings(rs.getLong("cancelled_bookings"));
+            dto.setTotalRevenue(rs.getBigDecimal("total_revenue"));
+            dto.setBookingsThisMonth(rs.getLong("bookings_this_month"));
+            dto.setBookingsLastMonth(rs.getLong("bookings_last_month"));
+            dto.setTotalStaff(rs.getLong("total_staff"));
+            dto.setTotalServices(rs.getLong("total_services"));
+            dto.setTotalCourses(rs.getLong("total_courses"));
+            return dto;
+        });
+    }
+
+    /**
+     * Booking counts and revenue of live and archived service and course bookings created in [from, to).
+     */
+    public BookingAnalyticsDTO getBookingStats(UUID parlourId, LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("parlourId", parlourId)
+                .addValue("from", from)
+                .addValue("to", to);
+
+        return namedParameterJdbcTemplate.queryForObject(BOOKING_STATS_SQL, params, (rs, rowNum) -> {
+            BookingAnalyticsDTO dto = new BookingAnalyticsDTO(
+                    rs.getLong("total_bookings"),
+                    rs.getLong("pending_bookings"),
+                    rs.getLong("accepted_bookings"),
+                    rs.getLong("completed_bookings"),
+                    rs.getLong("cancelled_bookings"));
+            dto.setTotalRevenue(rs.getBigDecimal("total_revenue"));
+            dto.setAverageBookingValue(rs.getBigDecimal("average_booking_value").setScale(2, RoundingMode.HALF_UP));
+            dto.setPeriodStart(from);
+            dto.setPeriodEnd(to);
+            return dto;
+        });
+    }
+
+    /**
+     * Exact distinct-customer figures over live and archived bookings created in [from, to).
+     * A customer is new when their first booking ever falls in the range.
+     */
+    public CustomerStats getCustomerStats(UUID parlourId, LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("parlourId", parlourId)
+                .addValue("from", from)
+                .addValue("to", to);
+
+        return namedParameterJdbcTemplate.queryForObject(CUSTOMER_STATS_SQL, params, (rs, rowNum) ->
+                new CustomerStats(rs.getLong("total_customers"), rs.getLong("new_customers"), rs.getLong("bookings")));
+    }
+}
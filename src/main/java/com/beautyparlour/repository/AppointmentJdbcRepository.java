@@ -0,0 +1,105 @@
+package com.beautyparlour.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Appointments of service bookings that still hold a staff member's time, i.e. pending or accepted.
+ */
+@Repository
+public class AppointmentJdbcRepository {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String ACTIVE = "status IN ('PENDING', 'ACCEPTED')";
+
+    public static class Appointment {
+        private final UUID staffId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        public Appointment(UUID staffId, LocalDateTime start, LocalDateTime end) {
+            this.staffId = staffId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public UUID getStaffId() { return staffId; }
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getEnd() { return end; }
+    }
+
+    public interface AppointmentHandler {
+        void handle(Appointment appointment);
+    }
+
+    private static final RowMapper<Appointment> APPOINTMENT_MAPPER = (rs, rowNum) -> new Appointment(
+            rs.getObject("staff_id", UUID.class),
+            rs.getObject("appointment_start", LocalDateTime.class),
+            rs.getObject("appointment_end", LocalDateTime.class));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every active appointment ending after {@code from}.
+     * Must run inside a transaction so the driver can fetch in chunks.
+     */
+    public void forEachActiveAppointment(LocalDateTime from, AppointmentHandler handler) {
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement statement = con.prepareStatement(
+                            "SELECT staff_id, appointment_start, appointment_end FROM service_bookings " +
+                            "WHERE appointment_start >= ? AND staff_id IS NOT NULL AND " + ACTIVE);
+                    // Appointments are shorter than a day, so starting a day earlier catches those still running
+                    statement.setTimestamp(1, Timestamp.valueOf(from.minusDays(1)));
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                rs -> {
+                    Appointment appointment = APPOINTMENT_MAPPER.mapRow(rs, 0);
+                    if (appointment.getEnd().isAfter(from)) {
+                        handler.handle(appointment);
+                    }
+                });
+    }
+
+    /**
+     * Active appointments of a staff member overlapping [from, to).
+     */
+    public List<Appointment> findActiveAppointments(UUID staffId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(
+                "SELECT staff_id, appointment_start, appointment_end FROM service_bookings " +
+                "WHERE staff_id = ? AND appointment_start < ? AND appointment_end > ? AND " + ACTIVE,
+                APPOINTMENT_MAPPER, staffId, to, from);
+    }
+
+    public Optional<Appointment> findAppointment(UUID bookingId) {
+        return jdbcTemplate.query(
+                "SELECT staff_id, appointment_start, appointment_end FROM service_bookings " +
+                "WHERE id = ? AND staff_id IS NOT NULL",
+                APPOINTMENT_MAPPER, bookingId).stream().findFirst();
+    }
+
+    /**
+     * Serializes bookings of one staff member's day until the transaction ends.
+     * Must run inside a transaction.
+     */
+    public void lockStaffDay(UUID staffId, LocalDate day) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtextextended(?, 0))",
+                rs -> {}, "appointment:" + staffId + ":" + day);
+    }
+
+    public boolean hasOverlap(UUID staffId, LocalDateTime start, LocalDateTime end) {
+        return !findActiveAppointments(staffId, start, end).isEmpty();
+    }
+}
@@ -0,0 +1,13 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.entity.ArchivedCourseBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedCourseBookingRepository extends JpaRepository<ArchivedCourseBooking, UUID> {
+    List<ArchivedCourseBooking> findByPhoneAndNormalizedName(String phone, String normalizedName);
+}
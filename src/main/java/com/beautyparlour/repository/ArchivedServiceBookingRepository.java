@@ -0,0 +1,13 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.entity.ArchivedServiceBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedServiceBookingRepository extends JpaRepository<ArchivedServiceBooking, UUID> {
+    List<ArchivedServiceBooking> findByPhoneAndNormalizedName(String phone, String normalizedName);
+}
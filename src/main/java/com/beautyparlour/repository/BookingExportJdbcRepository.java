@@ -0,0 +1,161 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.dto.response.CourseBookingDTO;
+import com.beautyparlour.dto.response.CourseDTO;
+import com.beautyparlour.dto.response.ServiceBookingDTO;
+import com.beautyparlour.entity.CourseBooking;
+import com.beautyparlour.entity.ServiceBooking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Export queries over a parlour's whole booking history: every query reads the live table and its
+ * archive as one {@code UNION ALL}, so bookings moved out by BookingArchiveService still appear in
+ * accounting exports. Both branches are range scans of a (parlour_id, created_at) index.
+ */
+@Repository
+public class BookingExportJdbcRepository {
+
+    // Rows fetched per round trip; matches how often the export flushes to the client
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SERVICE_COLUMNS =
+            "id, parlour_id, service_id, client_name, phone, status, cancel_reason, price_at_booking, " +
+            "created_at, updated_at, staff_id, appointment_start, appointment_end";
+
+    private static final String COURSE_COLUMNS =
+            "id, parlour_id, course_id, client_name, phone, status, cancel_reason, price_at_booking, " +
+            "created_at, updated_at";
+
+    private static final String FILTER =
+            " WHERE parlour_id = ? AND created_at >= ? AND created_at < ? AND status = ANY (?)";
+
+    public interface ServiceBookingHandler {
+        void handle(ServiceBookingDTO booking, BigDecimal servicePrice);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams the live and archived service bookings of a parlour created in [from, to), in creation order,
+     * with the current price of their service. Must run inside a transaction so the driver fetches in chunks.
+     */
+    public void forEachServiceBooking(UUID parlourId, LocalDateTime from, LocalDateTime to,
+                                      Collection<String> statuses, ServiceBookingHandler handler) {
+        jdbcTemplate.query(
+                con -> prepare(con,
+                        "SELECT b.*, s.name AS service_name, s.image_url AS service_image_url, s.price AS service_price FROM (" +
+                        "  SELECT " + SERVICE_COLUMNS + " FROM service_bookings" + FILTER +
+                        "  UNION ALL SELECT " + SERVICE_COLUMNS + " FROM service_bookings_archive" + FILTER +
+                        ") b LEFT JOIN services s ON s.id = b.service_id ORDER BY b.created_at",
+                        parlourId, from, to, statuses),
+                rs -> {
+                    ServiceBookingDTO booking = new ServiceBookingDTO();
+                    booking.setId(rs.getObject("id", UUID.class));
+                    booking.setParlourId(rs.getObject("parlour_id", UUID.class));
+                    booking.setServiceId(rs.getObject("service_id", UUID.class));
+                    booking.setClientName(rs.getString("client_name"));
+                    booking.setPhone(rs.getString("phone"));
+                    booking.setStatus(ServiceBooking.BookingStatus.valueOf(rs.getString("status")));
+                    booking.setCancelReason(rs.getString("cancel_reason"));
+                    booking.setPriceAtBooking(rs.getBigDecimal("price_at_booking"));
+                    booking.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+                    booking.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+                    booking.setStaffId(rs.getObject("staff_id", UUID.class));
+                    booking.setAppointmentStart(rs.getObject("appointment_start", LocalDateTime.class));
+                    booking.setAppointmentEnd(rs.getObject("appointment_end", LocalDateTime.class));
+                    booking.setServiceName(rs.getString("service_name"));
+                    booking.setServiceImageUrl(rs.getString("service_image_url"));
+                    handler.handle(booking, rs.getBigDecimal("service_price"));
+                });
+    }
+
+    /**
+     * Streams the live and archived course bookings of a parlour created in [from, to), in creation order,
+     * with their course. Must run inside a transaction so the driver fetches in chunks.
+     */
+    public void forEachCourseBooking(UUID parlourId, LocalDateTime from, LocalDateTime to,
+                                     Collection<String> statuses, Consumer<CourseBookingDTO> handler) {
+        jdbcTemplate.query(
+                con -> prepare(con,
+                        "SELECT b.*, c.parlour_id AS course_parlour_id, c.name AS course_name, " +
+                        "c.image_url AS course_image_url, c.description AS course_description, c.price AS course_price FROM (" +
+                        "  SELECT " + COURSE_COLUMNS + " FROM course_bookings" + FILTER +
+                        "  UNION ALL SELECT " + COURSE_COLUMNS + " FROM course_bookings_archive" + FILTER +
+                        ") b LEFT JOIN courses c ON c.id = b.course_id ORDER BY b.created_at",
+                        parlourId, from, to, statuses),
+                rs -> {
+                    CourseBookingDTO booking = new CourseBookingDTO();
+                    booking.setId(rs.getObject("id", UUID.class));
+                    booking.setParlourId(rs.getObject("parlour_id", UUID.class));
+                    booking.setCourseId(rs.getObject("course_id", UUID.class));
+                    booking.setClientName(rs.getString("client_name"));
+                    booking.setPhone(rs.getString("phone"));
+                    booking.setStatus(CourseBooking.BookingStatus.valueOf(rs.getString("status")));
+                    booking.setCancelReason(rs.getString("cancel_reason"));
+                    booking.setPriceAtBooking(rs.getBigDecimal("price_at_booking"));
+                    booking.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+                    booking.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+                    if (rs.getString("course_name") != null) {
+                        CourseDTO course = new CourseDTO();
+                        course.setId(booking.getCourseId());
+                        course.setParlourId(rs.getObject("course_parlour_id", UUID.class));
+                        course.setName(rs.getString("course_name"));
+                        course.setImageUrl(rs.getString("course_image_url"));
+                        course.setDescription(rs.getString("course_description"));
+                        course.setPrice(rs.getBigDecimal("course_price"));
+                        booking.setCourse(course);
+                    }
+                    handler.accept(booking);
+                });
+    }
+
+    /**
+     * Number of rows {@link #forEachServiceBooking} returns for the same arguments.
+     */
+    public long countServiceBookings(UUID parlourId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        return count("service_bookings", parlourId, from, to, statuses);
+    }
+
+    /**
+     * Number of rows {@link #forEachCourseBooking} returns for the same arguments.
+     */
+    public long countCourseBookings(UUID parlourId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        return count("course_bookings", parlourId, from, to, statuses);
+    }
+
+    private long count(String table, UUID parlourId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        Long count = jdbcTemplate.query(
+                con -> prepare(con,
+                        "SELECT (SELECT COUNT(*) FROM " + table + FILTER + ") + " +
+                        "(SELECT COUNT(*) FROM " + table + "_archive" + FILTER + ")",
+                        parlourId, from, to, statuses),
+                rs -> rs.next() ? rs.getLong(1) : 0L);
+        return count != null ? count : 0L;
+    }
+
+    // Binds the same filter to both branches of the union
+    private static PreparedStatement prepare(Connection con, String sql, UUID parlourId, LocalDateTime from,
+                                             LocalDateTime to, Collection<String> statuses) throws SQLException {
+        PreparedStatement statement = con.prepareStatement(sql);
+        for (int branch = 0; branch < 2; branch++) {
+            statement.setObject(branch * 4 + 1, parlourId);
+            statement.setObject(branch * 4 + 2, from);
+            statement.setObject(branch * 4 + 3, to);
+            statement.setArray(branch * 4 + 4, con.createArrayOf("varchar", statuses.toArray()));
+        }
+        statement.setFetchSize(FETCH_SIZE);
+        return statement;
+    }
+}
@@ -0,0 +1,83 @@
+package com.beautyparlour.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Extraction queries feeding the columnar analytics store. Facts are read from the live and the
+ * archive booking tables, so the store covers a parlour's whole history.
+ */
+@Repository
+public class BookingFactJdbcRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    public interface BookingFactHandler {
+        void handle(LocalDate day, String status, UUID itemId, BigDecimal priceAtBooking);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Day of the earliest live or archived booking of every parlour that has bookings.
+     * Each branch is a single probe of a (parlour_id, created_at) index.
+     */
+    public Map<UUID, LocalDate> findFirstBookingDays() {
+        Map<UUID, LocalDate> firstDays = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT parlour_id, first_at::date AS first_day FROM (" +
+                "  SELECT p.parlour_id, LEAST(" +
+                "    (SELECT MIN(created_at) FROM service_bookings b WHERE b.parlour_id = p.parlour_id)," +
+                "    (SELECT MIN(created_at) FROM course_bookings b WHERE b.parlour_id = p.parlour_id)," +
+                "    (SELECT MIN(created_at) FROM service_bookings_archive b WHERE b.parlour_id = p.parlour_id)," +
+                "    (SELECT MIN(created_at) FROM course_bookings_archive b WHERE b.parlour_id = p.parlour_id)" +
+                "  ) AS first_at FROM parlours p" +
+                ") f WHERE first_at IS NOT NULL",
+                rs -> {
+                    firstDays.put(rs.getObject("parlour_id", UUID.class), rs.getObject("first_day", LocalDate.class));
+                });
+        return firstDays;
+    }
+
+    /**
+     * Streams the live and archived bookings of a parlour created in [from, to).
+     * Must run inside a transaction so the driver can fetch in chunks.
+     */
+    public void forEachBookingFact(UUID parlourId, LocalDateTime from, LocalDateTime to, BookingFactHandler handler) {
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement statement = con.prepareStatement(
+                            "SELECT created_at::date AS day, status, item_id, price_at_booking FROM (" +
+                            "  SELECT created_at, status, service_id AS item_id, price_at_booking FROM service_bookings" +
+                            "  WHERE parlour_id = ? AND created_at >= ? AND created_at < ?" +
+                            "  UNION ALL SELECT created_at, status, course_id, price_at_booking FROM course_bookings" +
+                            "  WHERE parlour_id = ? AND created_at >= ? AND created_at < ?" +
+                            "  UNION ALL SELECT created_at, status, service_id, price_at_booking FROM service_bookings_archive" +
+                            "  WHERE parlour_id = ? AND created_at >= ? AND created_at < ?" +
+                            "  UNION ALL SELECT created_at, status, course_id, price_at_booking FROM course_bookings_archive" +
+                            "  WHERE parlour_id = ? AND created_at >= ? AND created_at < ?" +
+                            ") b");
+                    for (int i = 0; i < 4; i++) {
+                        statement.setObject(i * 3 + 1, parlourId);
+                        statement.setObject(i * 3 + 2, from);
+                        statement.setObject(i * 3 + 3, to);
+                    }
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                rs -> {
+                    handler.handle(rs.getObject("day", LocalDate.class), rs.getString("status"),
+                            rs.getObject("item_id", UUID.class), rs.getBigDecimal("price_at_booking"));
+                });
+    }
+}
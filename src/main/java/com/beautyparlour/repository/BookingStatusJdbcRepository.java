@@ -0,0 +1,109 @@
+package com.beautyparlour.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based status updates for the booking tables. Used where the JPA repositories would
+ * need one statement per booking; the table name is always one of the fixed booking tables.
+ */
+@Repository
+public class BookingStatusJdbcRepository {
+
+    public static final String SERVICE_BOOKINGS = "service_bookings";
+    public static final String COURSE_BOOKINGS = "course_bookings";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Moves every listed booking of the parlour that is currently in one of the source
+     * statuses to the target status in a single statement.
+     * @return ids of the bookings that were updated
+     */
+    public Set<UUID> transitionStatuses(String table, UUID parlourId, Collection<UUID> ids,
+                                        Collection<String> fromStatuses, String status, String cancelReason) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("parlourId", parlourId)
+                .addValue("fromStatuses", fromStatuses)
+                .addValue("status", status)
+                .addValue("cancelReason", cancelReason, Types.VARCHAR);
+
+        List<UUID> updated = namedParameterJdbcTemplate.queryForList(
+                "UPDATE " + checkTable(table) + " SET status = :status, " +
+                "cancel_reason = COALESCE(:cancelReason, cancel_reason) " +
+                "WHERE id IN (:ids) AND parlour_id = :parlourId AND status IN (:fromStatuses) " +
+                "RETURNING id", params, UUID.class);
+        return new HashSet<>(updated);
+    }
+
+    /**
+     * Single-booking variant of {@link #transitionStatuses} for client-initiated changes, which are
+     * not tenant scoped. The statement returns the booking's parlour, so callers need no second read.
+     * @return the parlour of the booking if it was updated, empty otherwise
+     */
+    public Optional<UUID> transitionStatusById(String table, UUID id, Collection<String> fromStatuses,
+                                               String status, String cancelReason) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("fromStatuses", fromStatuses)
+                .addValue("status", status)
+                .addValue("cancelReason", cancelReason, Types.VARCHAR);
+
+        List<UUID> parlourIds = namedParameterJdbcTemplate.queryForList(
+                "UPDATE " + checkTable(table) + " SET status = :status, " +
+                "cancel_reason = COALESCE(:cancelReason, cancel_reason) " +
+                "WHERE id = :id AND status IN (:fromStatuses) " +
+                "RETURNING parlour_id", params, UUID.class);
+        return parlourIds.stream().findFirst();
+    }
+
+    /**
+     * Looks up the current status of the given bookings of a parlour.
+     * Bookings that do not exist or belong to another parlour are absent from the result.
+     */
+    public Map<UUID, String> findStatuses(String table, UUID parlourId, Collection<UUID> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("parlourId", parlourId);
+
+        Map<UUID, String> statuses = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, status FROM " + checkTable(table) + " WHERE id IN (:ids) AND parlour_id = :parlourId",
+                params, rs -> {
+                    statuses.put(rs.getObject("id", UUID.class), rs.getString("status"));
+                });
+        return statuses;
+    }
+
+    /**
+     * The database time the given number of seconds ago, on the same clock the booking
+     * tables stamp updated_at with.
+     */
+    public LocalDateTime databaseTimeSecondsAgo(long seconds) {
+        return namedParameterJdbcTemplate.queryForObject(
+                "SELECT CAST(clock_timestamp() AS timestamp) - make_interval(secs => :seconds)",
+                new MapSqlParameterSource("seconds", seconds), LocalDateTime.class);
+    }
+
+    private String checkTable(String table) {
+        if (!SERVICE_BOOKINGS.equals(table) && !COURSE_BOOKINGS.equals(table)) {
+            throw new IllegalArgumentException("Unsupported booking table: " + table);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,81 @@
+package com.beautyparlour.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Batched catalog reads and inserts used by the bulk catalog import.
+ * Names are compared case-insensitively after trimming, matching how the import de-duplicates rows.
+ */
+@Repository
+public class CatalogJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Map<String, UUID> findCategoryIdsByName(UUID parlourId) {
+        Map<String, UUID> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, LOWER(TRIM(name)) AS name_key FROM categories WHERE parlour_id = ?",
+                rs -> {
+                    ids.putIfAbsent(rs.getString("name_key"), rs.getObject("id", UUID.class));
+                }, parlourId);
+        return ids;
+    }
+
+    /**
+     * Returns "categoryId|name" keys for the parlour's services, so the same service name
+     * may exist under different categories.
+     */
+    public Set<String> findServiceKeys(UUID parlourId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT category_id || '|' || LOWER(TRIM(name)) FROM services WHERE parlour_id = ?",
+                String.class, parlourId));
+    }
+
+    public Set<String> findCourseNames(UUID parlourId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT LOWER(TRIM(name)) FROM courses WHERE parlour_id = ?", String.class, parlourId));
+    }
+
+    public void insertCategories(List<Object[]> rows) {
+        // id, parlour_id, name
+        jdbcTemplate.batchUpdate("INSERT INTO categories (id, parlour_id, name) VALUES (?, ?, ?)", rows);
+    }
+
+    public void insertServices(List<Object[]> rows) {
+        // id, parlour_id, category_id, name, image_url, price
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO services (id, parlour_id, category_id, name, image_url, price) VALUES (?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    public void insertCourses(List<Object[]> rows) {
+        // id, parlour_id, name, image_url, description, price
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO courses (id, parlour_id, name, image_url, description, price) VALUES (?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    public static Object[] categoryRow(UUID id, UUID parlourId, String name) {
+        return new Object[]{id, parlourId, name};
+    }
+
+    public static Object[] serviceRow(UUID id, UUID parlourId, UUID categoryId, String name,
+                                      String imageUrl, BigDecimal price) {
+        return new Object[]{id, parlourId, categoryId, name, imageUrl, price};
+    }
+
+    public static Object[] courseRow(UUID id, UUID parlourId, String name, String imageUrl,
+                                     String description, BigDecimal price) {
+        return new Object[]{id, parlourId, name, imageUrl, description, price};
+    }
+}
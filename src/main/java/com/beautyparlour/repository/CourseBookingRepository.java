@@ -1,11 +1,15 @@
 package com.beautyparlour.repository;
 
 import com.beautyparlour.entity.CourseBooking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,7 +19,43 @@ public interface CourseBookingRepository extends JpaRepository<CourseBooking, UU
     List<CourseBooking> findByParlourId(UUID parlourId);
     Optional<CourseBooking> findByIdAndParlourId(UUID id, UUID parlourId);
 
-    // Search for bookings by client name and phone with proper validation
-    @Query("SELECT cb FROM CourseBooking cb WHERE LOWER(cb.clientName) = LOWER(:clientName) AND cb.phone = :phone")
-    List<CourseBooking> findByClientNameAndPhone(@Param("clientName") String clientName, @Param("phone") String phone);
+    // Search for bookings by phone and normalized client name (see ClientNameUtils.normalize)
+    List<CourseBooking> findByPhoneAndNormalizedName(String phone, String normalizedName);
+
+    // Client lookup pages, newest first, on the (phone, normalized_name, created_at, id) index
+    @Query("SELECT cb FROM CourseBooking cb LEFT JOIN FETCH cb.course " +
+           "WHERE cb.phone = :phone AND cb.normalizedName = :normalizedName " +
+           "ORDER BY cb.createdAt DESC, cb.id DESC")
+    List<CourseBooking> findClientBookings(@Param("phone") String phone,
+                                           @Param("normalizedName") String normalizedName,
+                                           Pageable pageable);
+
+    @Query("SELECT cb FROM CourseBooking cb LEFT JOIN FETCH cb.course " +
+           "WHERE cb.phone = :phone AND cb.normalizedName = :normalizedName " +
+           "AND (cb.createdAt < :createdAt OR (cb.createdAt = :createdAt AND cb.id < :id)) " +
+           "ORDER BY cb.createdAt DESC, cb.id DESC")
+    List<CourseBooking> findClientBookingsBefore(@Param("phone") String phone,
+                                                 @Param("normalizedName") String normalizedName,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") UUID id,
+                                                 Pageable pageable);
+
+    // Conditional status change: only applied while the booking is in one of fromStatuses
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CourseBooking cb SET cb.status = :status, cb.cancelReason = COALESCE(:cancelReason, cb.cancelReason) " +
+           "WHERE cb.id = :id AND cb.parlourId = :parlourId AND cb.status IN :fromStatuses")
+    int transitionStatus(@Param("id") UUID id,
+                         @Param("parlourId") UUID parlourId,
+                         @Param("fromStatuses") Collection<CourseBooking.BookingStatus> fromStatuses,
+                         @Param("status") CourseBooking.BookingStatus status,
+                         @Param("cancelReason") String cancelReason);
+
+    // Change feed in (updatedAt, id) order after the given position
+    @Query("SELECT cb FROM CourseBooking cb LEFT JOIN FETCH cb.course " +
+           "WHERE cb.parlourId = :parlourId AND (cb.updatedAt > :since OR (cb.updatedAt = :since AND cb.id > :sinceId)) " +
+           "ORDER BY cb.updatedAt, cb.id")
+    List<CourseBooking> findChangedSince(@Param("parlourId") UUID parlourId,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("sinceId") UUID sinceId,
+                                         Pageable pageable);
 }
@@ -2,6 +2,8 @@ package com.beautyparlour.repository;
 
 import com.beautyparlour.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,12 @@ import java.util.UUID;
 public interface CourseRepository extends JpaRepository<Course, UUID> {
     List<Course> findByParlourId(UUID parlourId);
     Optional<Course> findByIdAndParlourId(UUID id, UUID parlourId);
+
+    // Cross-tenant marketplace browse, keyset-paginated on the (name, id) index
+    @Query(value = "SELECT * FROM courses ORDER BY name, id LIMIT :limit", nativeQuery = true)
+    List<Course> browseFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM courses WHERE (name, id) > (:name, :id) ORDER BY name, id LIMIT :limit",
+            nativeQuery = true)
+    List<Course> browseAfter(@Param("name") String name, @Param("id") UUID id, @Param("limit") int limit);
 }
@@ -0,0 +1,34 @@
+package com.beautyparlour.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Customers of a parlour, one per normalized phone number. Bookings reference their customer,
+ * so repeat-customer figures no longer need to group the booking tables by phone.
+ */
+@Repository
+public class CustomerJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds or creates the customer for a new booking in one statement. The latest booking's name wins.
+     * @param phone the normalized phone number
+     * @return the customer id
+     */
+    public UUID upsert(UUID parlourId, String phone, String name, LocalDateTime bookedAt) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO customers (parlour_id, phone, name, first_booking_at, last_booking_at) " +
+                "VALUES (?, ?, ?, ?, ?) " +
+                "ON CONFLICT (parlour_id, phone) DO UPDATE SET name = EXCLUDED.name, " +
+                "last_booking_at = GREATEST(customers.last_booking_at, EXCLUDED.last_booking_at) " +
+                "RETURNING id",
+                UUID.class, parlourId, phone, name, bookedAt, bookedAt);
+    }
+}
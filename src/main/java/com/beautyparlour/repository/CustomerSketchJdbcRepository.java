@@ -0,0 +1,122 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.util.HyperLogLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Storage of the daily customer sketches. A new booking updates a single register of its day
+ * in place, so concurrent bookings never overwrite each other's registers.
+ */
+@Repository
+public class CustomerSketchJdbcRepository {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String EMPTY_REGISTERS = "decode(repeat('00', " + HyperLogLog.REGISTER_COUNT + "), 'hex')";
+
+    public static class SketchRange {
+        private final HyperLogLog before = new HyperLogLog();
+        private final HyperLogLog within = new HyperLogLog();
+        private long bookingsWithin;
+
+        /** Customers seen on any day before the range. */
+        public HyperLogLog getBefore() { return before; }
+        /** Customers seen on the days of the range. */
+        public HyperLogLog getWithin() { return within; }
+        public long getBookingsWithin() { return bookingsWithin; }
+    }
+
+    public interface BookingPhoneHandler {
+        void handle(LocalDate day, String phone);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Raises one register of the day's sketch to the given value and counts the booking.
+     */
+    public void offer(UUID parlourId, LocalDate day, int registerIndex, int registerValue) {
+        jdbcTemplate.update(
+                "INSERT INTO customer_sketches (parlour_id, day, registers, booking_count) " +
+                "VALUES (?, ?, set_byte(" + EMPTY_REGISTERS + ", ?, ?), 1) " +
+                "ON CONFLICT (parlour_id, day) DO UPDATE SET " +
+                "registers = set_byte(customer_sketches.registers, ?, " +
+                "GREATEST(get_byte(customer_sketches.registers, ?), ?)), " +
+                "booking_count = customer_sketches.booking_count + 1",
+                parlourId, day, registerIndex, registerValue, registerIndex, registerIndex, registerValue);
+    }
+
+    /**
+     * Merges the sketches of a parlour in one pass: days in [from, to) into the range sketch
+     * and all earlier days into the "before" sketch.
+     */
+    public SketchRange loadRange(UUID parlourId, LocalDate from, LocalDate to) {
+        SketchRange range = new SketchRange();
+        jdbcTemplate.query(
+                "SELECT day, registers, booking_count FROM customer_sketches " +
+                "WHERE parlour_id = ? AND day < ?",
+                rs -> {
+                    HyperLogLog sketch = HyperLogLog.fromBytes(rs.getBytes("registers"));
+                    if (rs.getObject("day", LocalDate.class).isBefore(from)) {
+                        range.before.merge(sketch);
+                    } else {
+                        range.within.merge(sketch);
+                        range.bookingsWithin += rs.getLong("booking_count");
+                    }
+                },
+                parlourId, to);
+        return range;
+    }
+
+    /**
+     * Streams the day and phone of every live and archived booking of a parlour, ordered by day.
+     * Must run inside a transaction so the driver can fetch in chunks.
+     */
+    public void forEachBookingPhone(UUID parlourId, BookingPhoneHandler handler) {
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement statement = con.prepareStatement(
+                            "SELECT created_at::date AS day, phone FROM (" +
+                            "  SELECT created_at, phone FROM service_bookings WHERE parlour_id = ?" +
+                            "  UNION ALL SELECT created_at, phone FROM course_bookings WHERE parlour_id = ?" +
+                            "  UNION ALL SELECT created_at, phone FROM service_bookings_archive WHERE parlour_id = ?" +
+                            "  UNION ALL SELECT created_at, phone FROM course_bookings_archive WHERE parlour_id = ?" +
+                            ") b ORDER BY day");
+                    for (int i = 1; i <= 4; i++) {
+                        statement.setObject(i, parlourId);
+                    }
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                rs -> {
+                    handler.handle(rs.getObject("day", LocalDate.class), rs.getString("phone"));
+                });
+    }
+
+    /**
+     * Merges a rebuilt sketch into the stored one. Registers only ever grow, so merging is safe
+     * against bookings offered while the rebuild ran; the booking count keeps the larger value.
+     * Must run inside a transaction.
+     */
+    public void mergeDay(UUID parlourId, LocalDate day, HyperLogLog sketch, long bookingCount) {
+        // Make sure the row exists, so the lock below also holds off a concurrent first offer
+        jdbcTemplate.update(
+                "INSERT INTO customer_sketches (parlour_id, day, registers, booking_count) " +
+                "VALUES (?, ?, " + EMPTY_REGISTERS + ", 0) ON CONFLICT (parlour_id, day) DO NOTHING",
+                parlourId, day);
+        byte[] stored = jdbcTemplate.queryForObject(
+                "SELECT registers FROM customer_sketches WHERE parlour_id = ? AND day = ? FOR UPDATE",
+                byte[].class, parlourId, day);
+        sketch.merge(HyperLogLog.fromBytes(stored));
+        jdbcTemplate.update(
+                "UPDATE customer_sketches SET registers = ?, booking_count = GREATEST(booking_count, ?) " +
+                "WHERE parlour_id = ? AND day = ?",
+                sketch.toBytes(), bookingCount, parlourId, day);
+    }
+}
@@ -0,0 +1,82 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based payroll queries: one statement reads every staff member of a parlour,
+ * and salary log rows are written as a single JDBC batch. Amounts are read as minor units.
+ */
+@Repository
+public class PayrollJdbcRepository {
+
+    public static class StaffPayrollRow {
+        private final UUID staffId;
+        private final Money baseSalary;
+        private final boolean alreadyPaid;
+
+        public StaffPayrollRow(UUID staffId, Money baseSalary, boolean alreadyPaid) {
+            this.staffId = staffId;
+            this.baseSalary = baseSalary;
+            this.alreadyPaid = alreadyPaid;
+        }
+
+        public UUID getStaffId() { return staffId; }
+        public Money getBaseSalary() { return baseSalary; }
+        public boolean isAlreadyPaid() { return alreadyPaid; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Serializes payroll runs for one parlour until the current transaction ends,
+     * so two concurrent runs cannot both pay the same month.
+     */
+    public void lockParlourPayroll(UUID parlourId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtextextended(?, 0))",
+                rs -> { }, "payroll:" + parlourId);
+    }
+
+    /**
+     * Base salary of every staff member of the parlour, flagged when a salary log entry
+     * already exists in the given period.
+     */
+    public List<StaffPayrollRow> findPayrollRows(UUID parlourId, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        return jdbcTemplate.query(
+                "SELECT s.id, (s.base_salary * 100)::bigint AS base_salary_minor, " +
+                "EXISTS (SELECT 1 FROM staff_salary_log l WHERE l.staff_id = s.id " +
+                "        AND l.paid_on >= ? AND l.paid_on < ?) AS already_paid " +
+                "FROM staffs s WHERE s.parlour_id = ?",
+                (rs, rowNum) -> new StaffPayrollRow(
+                        rs.getObject("id", UUID.class),
+                        Money.ofMinor(rs.getLong("base_salary_minor")),
+                        rs.getBoolean("already_paid")),
+                periodStart, periodEnd, parlourId);
+    }
+
+    /**
+     * Whether the staff member already has a salary log entry in the given period.
+     */
+    public boolean isAlreadyPaid(UUID staffId, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM staff_salary_log WHERE staff_id = ? AND paid_on >= ? AND paid_on < ?)",
+                Boolean.class, staffId, periodStart, periodEnd));
+    }
+
+    public void insertSalaryLogs(List<Object[]> rows) {
+        // id, staff_id, net_salary, paid_on
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO staff_salary_log (id, staff_id, net_salary, paid_on) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    public List<UUID> findParlourIdsWithStaff() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT parlour_id FROM staffs", UUID.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.beautyparlour.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Checkpoint storage of the popular-services summaries. Nodes add their own increments to the
+ * stored counts, so every node converges on the same ranking when it reloads a checkpoint.
+ */
+@Repository
+public class PopularServiceJdbcRepository {
+
+    public static class CounterRow {
+        private final UUID serviceId;
+        private final long count;
+        private final long error;
+
+        public CounterRow(UUID serviceId, long count, long error) {
+            this.serviceId = serviceId;
+            this.count = count;
+            this.error = error;
+        }
+
+        public UUID getServiceId() { return serviceId; }
+        public long getCount() { return count; }
+        public long getError() { return error; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<CounterRow> findCounters(UUID parlourId, String bucket, int limit) {
+        return jdbcTemplate.query(
+                "SELECT service_id, count, error FROM popular_service_counters " +
+                "WHERE parlour_id = ? AND bucket = ? ORDER BY count DESC LIMIT ?",
+                (rs, rowNum) -> new CounterRow(
+                        rs.getObject("service_id", UUID.class), rs.getLong("count"), rs.getLong("error")),
+                parlourId, bucket, limit);
+    }
+
+    /**
+     * Exact per-service booking counts over live and archived bookings, used to seed a bucket
+     * that has never been checkpointed. A null range counts all bookings.
+     * @param excludedBookingId a committed booking that is counted separately, or null
+     */
+    public List<CounterRow> countBookings(UUID parlourId, LocalDateTime from, LocalDateTime to,
+                                          UUID excludedBookingId, int limit) {
+        String range = from != null ? " AND created_at >= ? AND created_at < ?" : "";
+        String excluded = excludedBookingId != null ? " AND id <> ?" : "";
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            args.add(parlourId);
+            if (from != null) {
+                args.add(from);
+                args.add(to);
+            }
+            if (excludedBookingId != null) {
+                args.add(excludedBookingId);
+            }
+        }
+        args.add(limit);
+        return jdbcTemplate.query(
+                "SELECT service_id, COUNT(*) AS bookings FROM (" +
+                "  SELECT service_id FROM service_bookings WHERE parlour_id = ?" + range + excluded +
+                "  UNION ALL SELECT service_id FROM service_bookings_archive WHERE parlour_id = ?" + range + excluded +
+                ") b GROUP BY service_id ORDER BY bookings DESC LIMIT ?",
+                (rs, rowNum) -> new CounterRow(rs.getObject("service_id", UUID.class), rs.getLong("bookings"), 0),
+                args.toArray());
+    }
+
+    /**
+     * Stores seeded counts unless another node checkpointed the bucket first.
+     */
+    public void insertIfAbsent(UUID parlourId, String bucket, List<CounterRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO popular_service_counters (parlour_id, bucket, service_id, count, error) " +
+                "VALUES (?, ?, ?, ?, ?) ON CONFLICT (parlour_id, bucket, service_id) DO NOTHING",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setObject(1, parlourId);
+                    ps.setString(2, bucket);
+                    ps.setObject(3, row.getServiceId());
+                    ps.setLong(4, row.getCount());
+                    ps.setLong(5, row.getError());
+                });
+    }
+
+    /**
+     * Adds the increments counted on this node since its last checkpoint.
+     * <p>
+     * A service without a row may have been trimmed earlier, or left out of the seed, with up to
+     * as many bookings as the lowest of the {@code capacity} kept counters. Like a Space-Saving
+     * replacement, it re-enters at that count with the same value as its error, so a stored count
+     * never falls below the true count.
+     */
+    public void addIncrements(UUID parlourId, String bucket, Map<UUID, Long> increments, int capacity) {
+        List<Map.Entry<UUID, Long>> rows = new ArrayList<>(increments.entrySet());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO popular_service_counters (parlour_id, bucket, service_id, count, error) " +
+                "SELECT ?, ?, ?, ? + min_count, min_count FROM (SELECT COALESCE((" +
+                "  SELECT count FROM popular_service_counters WHERE parlour_id = ? AND bucket = ?" +
+                "  ORDER BY count DESC OFFSET ? LIMIT 1), 0) AS min_count) m " +
+                "ON CONFLICT (parlour_id, bucket, service_id) DO UPDATE SET " +
+                "count = popular_service_counters.count + ?",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setObject(1, parlourId);
+                    ps.setString(2, bucket);
+                    ps.setObject(3, row.getKey());
+                    ps.setLong(4, row.getValue());
+                    ps.setObject(5, parlourId);
+                    ps.setString(6, bucket);
+                    ps.setInt(7, capacity - 1);
+                    ps.setLong(8, row.getValue());
+                });
+    }
+
+    /**
+     * Keeps only the {@code keep} highest counters of a bucket.
+     */
+    public void trim(UUID parlourId, String bucket, int keep) {
+        jdbcTemplate.update(
+                "DELETE FROM popular_service_counters WHERE parlour_id = ? AND bucket = ? AND service_id NOT IN (" +
+                "  SELECT service_id FROM popular_service_counters WHERE parlour_id = ? AND bucket = ?" +
+                "  ORDER BY count DESC LIMIT ?)",
+                parlourId, bucket, parlourId, bucket, keep);
+    }
+}
@@ -0,0 +1,110 @@
+package com.beautyparlour.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * State transitions of report jobs. Every transition is a single conditional statement, so
+ * workers on several nodes can share the queue without holding locks while a report runs.
+ */
+@Repository
+public class ReportJobJdbcRepository {
+
+    // Fewest running jobs of the same parlour first, then oldest; parlours at their limit are skipped
+    private static final String CLAIM_SQL =
+            "UPDATE report_jobs SET status = 'RUNNING', started_at = CURRENT_TIMESTAMP, progress = 0 " +
+            "WHERE id = (" +
+            "  SELECT j.id FROM report_jobs j" +
+            "  WHERE j.status = 'QUEUED' AND (" +
+            "    SELECT COUNT(*) FROM report_jobs r WHERE r.parlour_id = j.parlour_id AND r.status = 'RUNNING') < ?" +
+            "  ORDER BY (" +
+            "    SELECT COUNT(*) FROM report_jobs r WHERE r.parlour_id = j.parlour_id AND r.status = 'RUNNING')," +
+            "    j.created_at" +
+            "  LIMIT 1 FOR UPDATE OF j SKIP LOCKED) " +
+            "RETURNING id";
+
+    public static class ExpiredResult {
+        private final UUID id;
+        private final String resultPath;
+
+        public ExpiredResult(UUID id, String resultPath) {
+            this.id = id;
+            this.resultPath = resultPath;
+        }
+
+        public UUID getId() { return id; }
+        public String getResultPath() { return resultPath; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves the next fair queued job to RUNNING.
+     * @param maxRunningPerParlour jobs of a parlour with this many running jobs are not claimed
+     * @return the claimed job, if any
+     */
+    public Optional<UUID> claimNext(int maxRunningPerParlour) {
+        List<UUID> claimed = jdbcTemplate.queryForList(CLAIM_SQL, UUID.class, maxRunningPerParlour);
+        return claimed.stream().findFirst();
+    }
+
+    /** Puts a claimed job back in the queue, e.g. when no worker could take it. */
+    public void requeue(UUID id) {
+        jdbcTemplate.update(
+                "UPDATE report_jobs SET status = 'QUEUED', started_at = NULL WHERE id = ? AND status = 'RUNNING'", id);
+    }
+
+    public void updateProgress(UUID id, int progress) {
+        jdbcTemplate.update(
+                "UPDATE report_jobs SET progress = ? WHERE id = ? AND status = 'RUNNING'", progress, id);
+    }
+
+    /** @return false when the job is no longer running, e.g. it timed out meanwhile */
+    public boolean complete(UUID id, String resultPath, String contentType, long size, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(
+                "UPDATE report_jobs SET status = 'SUCCEEDED', progress = 100, result_path = ?, " +
+                "result_content_type = ?, result_size = ?, finished_at = CURRENT_TIMESTAMP, expires_at = ? " +
+                "WHERE id = ? AND status = 'RUNNING'",
+                resultPath, contentType, size, expiresAt, id) == 1;
+    }
+
+    public void fail(UUID id, String errorMessage) {
+        jdbcTemplate.update(
+                "UPDATE report_jobs SET status = 'FAILED', error_message = ?, finished_at = CURRENT_TIMESTAMP " +
+                "WHERE id = ? AND status = 'RUNNING'",
+                errorMessage, id);
+    }
+
+    /**
+     * Fails jobs that have been running for longer than the timeout, e.g. because their node stopped.
+     * The cutoff is taken from the database clock, the same one that stamped started_at in claimNext.
+     * @return number of jobs failed
+     */
+    public int failRunningLongerThan(int timeoutMinutes) {
+        return jdbcTemplate.update(
+                "UPDATE report_jobs SET status = 'FAILED', error_message = 'Report timed out', " +
+                "finished_at = CURRENT_TIMESTAMP WHERE status = 'RUNNING' " +
+                "AND started_at < CURRENT_TIMESTAMP - make_interval(mins => ?)",
+                timeoutMinutes);
+    }
+
+    public List<ExpiredResult> findExpiredResults(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, result_path FROM report_jobs WHERE result_path IS NOT NULL AND expires_at < ? " +
+                "ORDER BY expires_at LIMIT ?",
+                (rs, rowNum) -> new ExpiredResult(rs.getObject("id", UUID.class), rs.getString("result_path")),
+                now, limit);
+    }
+
+    public void markExpired(UUID id) {
+        jdbcTemplate.update(
+                "UPDATE report_jobs SET status = 'EXPIRED', result_path = NULL WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,20 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.entity.ReportJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, UUID> {
+    Optional<ReportJob> findByIdAndParlourId(UUID id, UUID parlourId);
+
+    List<ReportJob> findByParlourIdOrderByCreatedAtDesc(UUID parlourId, Pageable pageable);
+
+    long countByParlourIdAndStatusIn(UUID parlourId, Collection<ReportJob.Status> statuses);
+}
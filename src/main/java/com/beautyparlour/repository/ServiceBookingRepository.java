@@ -4,11 +4,13 @@ import com.beautyparlour.entity.ServiceBooking;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,12 +47,45 @@ public interface ServiceBookingRepository extends JpaRepository<ServiceBooking,
     Optional<ServiceBooking> findByIdAndParlourId(UUID id, UUID parlourId);
     
     /**
-     * Finds service bookings by client name and phone number.
-     * @param clientName the client's name
+     * Finds service bookings by phone number and normalized client name.
      * @param phone the client's phone number
+     * @param normalizedName the client's name as returned by ClientNameUtils.normalize
      * @return list of bookings for the client
      */
-    List<ServiceBooking> findByClientNameAndPhone(String clientName, String phone);
+    List<ServiceBooking> findByPhoneAndNormalizedName(String phone, String normalizedName);
+
+    /**
+     * First page of a client's bookings, newest first, on the (phone, normalized_name, created_at, id) index.
+     * @param phone the client's phone number
+     * @param normalizedName the client's name as returned by ClientNameUtils.normalize
+     * @param pageable limits the number of bookings returned
+     * @return bookings with their service
+     */
+    @Query("SELECT sb FROM ServiceBooking sb LEFT JOIN FETCH sb.service " +
+           "WHERE sb.phone = :phone AND sb.normalizedName = :normalizedName " +
+           "ORDER BY sb.createdAt DESC, sb.id DESC")
+    List<ServiceBooking> findClientBookings(@Param("phone") String phone,
+                                            @Param("normalizedName") String normalizedName,
+                                            Pageable pageable);
+
+    /**
+     * Next page of a client's bookings: those before the last booking of the previous page.
+     * @param phone the client's phone number
+     * @param normalizedName the client's name as returned by ClientNameUtils.normalize
+     * @param createdAt creation time of the last booking already seen
+     * @param id id of the last booking already seen
+     * @param pageable limits the number of bookings returned
+     * @return bookings with their service
+     */
+    @Query("SELECT sb FROM ServiceBooking sb LEFT JOIN FETCH sb.service " +
+           "WHERE sb.phone = :phone AND sb.normalizedName = :normalizedName " +
+           "AND (sb.createdAt < :createdAt OR (sb.createdAt = :createdAt AND sb.id < :id)) " +
+           "ORDER BY sb.createdAt DESC, sb.id DESC")
+    List<ServiceBooking> findClientBookingsBefore(@Param("phone") String phone,
+                                                  @Param("normalizedName") String normalizedName,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") UUID id,
+                                                  Pageable pageable);
     
     /**
      * Finds service bookings by parlour ID and booking status.
@@ -64,6 +99,7 @@ public interface ServiceBookingRepository extends JpaRepository<ServiceBooking,
     
     /**
      * Finds service bookings within a date range for a specific parlour.
+     * Only the monthly partitions overlapping the range are scanned.
      * @param parlourId the parlour ID
      * @param startDate the start date of the range
      * @param endDate the end date of the range
@@ -114,14 +150,52 @@ public interface ServiceBookingRepository extends JpaRepository<ServiceBooking,
     @Query("SELECT sb FROM ServiceBooking sb WHERE sb.clientName = :clientName AND sb.phone = :phone ORDER BY sb.createdAt DESC")
     List<ServiceBooking> findLatestByClientNameAndPhone(@Param("clientName") String clientName, 
                                                         @Param("phone") String phone, 
-                                                        Pageable pageable);
+                                          Pageable pageable);
     
     /**
      * Counts bookings created since a specific date for revenue analytics.
+     * Only the monthly partitions from the given date onwards are scanned.
      * @param parlourId the parlour ID
      * @param date the date to count from
      * @return number of bookings created since the specified date
      */
     @Query("SELECT COUNT(sb) FROM ServiceBooking sb WHERE sb.parlourId = :parlourId AND sb.createdAt >= :date")
     long countBookingsSince(@Param("parlourId") UUID parlourId, @Param("date") LocalDateTime date);
+
+    /**
+     * Moves a booking to a new status only if it currently is in one of the allowed source states.
+     * The check and the write happen in a single statement, so concurrent transitions cannot
+     * overwrite each other. A null cancel reason keeps the existing value.
+     * @param id the booking ID
+     * @param parlourId the parlour ID for tenant isolation
+     * @param fromStatuses the statuses the booking may currently be in
+     * @param status the new status
+     * @param cancelReason the cancel reason to store, or null
+     * @return number of rows updated (0 or 1)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ServiceBooking sb SET sb.status = :status, sb.cancelReason = COALESCE(:cancelReason, sb.cancelReason) " +
+           "WHERE sb.id = :id AND sb.parlourId = :parlourId AND sb.status IN :fromStatuses")
+    int transitionStatus(@Param("id") UUID id,
+                         @Param("parlourId") UUID parlourId,
+                         @Param("fromStatuses") Collection<ServiceBooking.BookingStatus> fromStatuses,
+                         @Param("status") ServiceBooking.BookingStatus status,
+                         @Param("cancelReason") String cancelReason);
+
+    /**
+     * Finds bookings of a parlour created or modified after a position in (updatedAt, id) order,
+     * oldest change first. Backed by the (parlour_id, updated_at, id) index.
+     * @param parlourId the parlour ID
+     * @param since modification time of the last booking already seen
+     * @param sinceId id of the last booking already seen
+     * @param pageable limits the number of bookings returned
+     * @return changed bookings with their service
+     */
+    @Query("SELECT sb FROM ServiceBooking sb LEFT JOIN FETCH sb.service " +
+           "WHERE sb.parlourId = :parlourId AND (sb.updatedAt > :since OR (sb.updatedAt = :since AND sb.id > :sinceId)) " +
+           "ORDER BY sb.updatedAt, sb.id")
+    List<ServiceBooking> findChangedSince(@Param("parlourId") UUID parlourId,
+                                          @Param("since") LocalDateTime since,
+                                          @Param("sinceId") UUID sinceId,
+                                          Pageable pageable);
 }
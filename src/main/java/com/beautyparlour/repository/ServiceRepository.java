@@ -2,6 +2,8 @@ package com.beautyparlour.repository;
 
 import com.beautyparlour.entity.Service;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,12 @@ public interface ServiceRepository extends JpaRepository<Service, UUID> {
     List<Service> findByParlourId(UUID parlourId);
     Optional<Service> findByIdAndParlourId(UUID id, UUID parlourId);
     List<Service> findByCategoryIdAndParlourId(UUID categoryId, UUID parlourId);
+
+    // Cross-tenant marketplace browse, keyset-paginated on the (name, id) index
+    @Query(value = "SELECT * FROM services ORDER BY name, id LIMIT :limit", nativeQuery = true)
+    List<Service> browseFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM services WHERE (name, id) > (:name, :id) ORDER BY name, id LIMIT :limit",
+            nativeQuery = true)
+    List<Service> browseAfter(@Param("name") String name, @Param("id") UUID id, @Param("limit") int limit);
 }
@@ -0,0 +1,91 @@
+package com.beautyparlour.repository;
+
+import com.beautyparlour.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Atomic updates of the per-staff outstanding advance balance.
+ * Each method is a single statement, so concurrent advances and salary payments for the
+ * same staff member are serialized by the row lock instead of a read-check-write in Java.
+ */
+@Repository
+public class StaffAdvanceBalanceJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Adds an advance to the outstanding balance unless the result would exceed the limit.
+     * @param staffId the staff member
+     * @param amount the advance amount
+     * @param limit the maximum outstanding balance allowed
+     * @return the new outstanding balance, or empty if the limit would be exceeded
+     */
+    public Optional<BigDecimal> addAdvance(UUID staffId, BigDecimal amount, BigDecimal limit) {
+        if (amount.compareTo(limit) > 0) {
+            return Optional.empty();
+        }
+        List<BigDecimal> balance = jdbcTemplate.queryForList(
+                "INSERT INTO staff_advance_balance (staff_id, outstanding, updated_at) " +
+                "VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (staff_id) DO UPDATE " +
+                "SET outstanding = staff_advance_balance.outstanding + EXCLUDED.outstanding, " +
+                "    updated_at = CURRENT_TIMESTAMP " +
+                "WHERE staff_advance_balance.outstanding + EXCLUDED.outstanding <= ? " +
+                "RETURNING outstanding",
+                BigDecimal.class, staffId, amount, limit);
+        return balance.stream().findFirst();
+    }
+
+    public BigDecimal getOutstanding(UUID staffId) {
+        List<BigDecimal> balance = jdbcTemplate.queryForList(
+                "SELECT outstanding FROM staff_advance_balance WHERE staff_id = ?", BigDecimal.class, staffId);
+        return balance.isEmpty() ? BigDecimal.ZERO : balance.get(0);
+    }
+
+    /**
+     * Resets a staff member's balance to zero at salary payment.
+     * @return the balance that was outstanding before the reset
+     */
+    public BigDecimal settle(UUID staffId) {
+        return settleAll(List.of(staffId)).getOrDefault(staffId, Money.ZERO).toBigDecimal();
+    }
+
+    /**
+     * Resets the balances of several staff members in one statement.
+     * @return outstanding balance before the reset, by staff id; staff without a balance are absent
+     */
+    public Map<UUID, Money> settleAll(Collection<UUID> staffIds) {
+        Map<UUID, Money> settled = new HashMap<>();
+        if (staffIds.isEmpty()) {
+            return settled;
+        }
+        namedParameterJdbcTemplate.query(
+                "WITH previous AS (" +
+                "  SELECT staff_id, outstanding FROM staff_advance_balance " +
+                "  WHERE staff_id IN (:staffIds) FOR UPDATE) " +
+                "UPDATE staff_advance_balance b SET outstanding = 0, updated_at = CURRENT_TIMESTAMP " +
+                "FROM previous WHERE b.staff_id = previous.staff_id " +
+                "RETURNING previous.staff_id, (previous.outstanding * 100)::bigint AS outstanding_minor",
+                new MapSqlParameterSource("staffIds", staffIds),
+                rs -> {
+                    settled.put(rs.getObject("staff_id", UUID.class), Money.ofMinor(rs.getLong("outstanding_minor")));
+                });
+        return settled;
+    }
+}
@@ -14,6 +14,7 @@ import java.util.UUID;
 public interface StaffAdvancePayRepository extends JpaRepository<StaffAdvancePay, UUID> {
     List<StaffAdvancePay> findByStaffId(UUID staffId);
     
+    // All-time total; the current period's balance is kept in staff_advance_balance
     @Query("SELECT COALESCE(SUM(sap.amount), 0) FROM StaffAdvancePay sap WHERE sap.staffId = :staffId")
     BigDecimal getTotalAdvanceByStaffId(@Param("staffId") UUID staffId);
 }
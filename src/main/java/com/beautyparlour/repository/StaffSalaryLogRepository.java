@@ -2,12 +2,21 @@ package com.beautyparlour.repository;
 
 import com.beautyparlour.entity.StaffSalaryLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface StaffSalaryLogRepository extends JpaRepository<StaffSalaryLog, UUID> {
     List<StaffSalaryLog> findByStaffIdOrderByPaidOnDesc(UUID staffId);
+
+    @Query("SELECT l FROM StaffSalaryLog l JOIN FETCH l.staff s " +
+           "WHERE s.parlourId = :parlourId AND l.paidOn >= :from AND l.paidOn < :to ORDER BY l.paidOn, s.name")
+    List<StaffSalaryLog> findPayrollHistory(@Param("parlourId") UUID parlourId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
 }
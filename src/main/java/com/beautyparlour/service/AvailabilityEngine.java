@@ -0,0 +1,381 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.constants.AppConstants;
+import com.beautyparlour.dto.response.AvailableSlotDTO;
+import com.beautyparlour.entity.Staff;
+import com.beautyparlour.event.BookingStatusChangedEvent;
+import com.beautyparlour.event.PgNotifyBus;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.exception.ResourceNotFoundException;
+import com.beautyparlour.repository.AppointmentJdbcRepository;
+import com.beautyparlour.repository.ServiceRepository;
+import com.beautyparlour.repository.StaffRepository;
+import com.beautyparlour.util.SlotCalendar;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appointment availability of every staff member, answered from memory.
+ * <p>
+ * Each staff member's day is a {@link SlotCalendar} with one bit per slot between opening and
+ * closing time, loaded from the upcoming appointments when the application starts. A booking first
+ * reserves its slots here with compare-and-set, then re-checks the database under an advisory lock
+ * on the staff member's day before it is saved; that check is what guards against other nodes and
+ * against calendars that went stale. Reservations and releases are forwarded to the other nodes over
+ * {@link PgNotifyBus}, and all calendars are reloaded after the listener connection was lost.
+ * <p>
+ * Any staff member of the parlour can take any of its services.
+ */
+@Service
+public class AvailabilityEngine {
+
+    public static final String CHANNEL = "availability";
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityEngine.class);
+
+    private static final String RESERVED = "reserved";
+    private static final String RELEASED = "released";
+
+    /**
+     * Slots held in memory for a booking that is being saved; see {@link #confirm} and {@link #cancel}.
+     */
+    public static final class Reservation {
+        private final UUID staffId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private boolean conflicted;
+
+        private Reservation(UUID staffId, LocalDateTime start, LocalDateTime end) {
+            this.staffId = staffId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public UUID getStaffId() { return staffId; }
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getEnd() { return end; }
+    }
+
+    private record StaffMember(UUID id, String name) {}
+
+    private record ParlourStaff(List<StaffMember> members, long loadedAtMillis) {}
+
+    // staff id -> day -> busy slots; a missing day has no appointments
+    private final Map<UUID, Map<LocalDate, SlotCalendar>> calendars = new ConcurrentHashMap<>();
+    private final Map<UUID, ParlourStaff> staffByParlour = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AppointmentJdbcRepository appointmentJdbcRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private PgNotifyBus pgNotifyBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${appointments.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${appointments.opening-time:09:00}")
+    private String openingTime;
+
+    @Value("${appointments.closing-time:19:00}")
+    private String closingTime;
+
+    @Value("${appointments.max-days-ahead:60}")
+    private int maxDaysAhead;
+
+    @Value("${appointments.staff-refresh-seconds:60}")
+    private long staffRefreshSeconds;
+
+    private LocalTime opening;
+    private int slotsPerDay;
+
+    @PostConstruct
+    public void init() {
+        try {
+            opening = LocalTime.parse(openingTime);
+            int minutes = (int) Duration.between(opening, LocalTime.parse(closingTime)).toMinutes();
+            if (slotMinutes <= 0 || minutes <= 0 || minutes % slotMinutes != 0) {
+                throw new IllegalStateException("Opening hours must be a positive multiple of appointments.slot-minutes");
+            }
+            slotsPerDay = minutes / slotMinutes;
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("Invalid appointments.opening-time or appointments.closing-time", e);
+        }
+        pgNotifyBus.subscribe(CHANNEL, this::onRemoteChange);
+        // Reloading reads the database, which must not happen on the listener thread
+        pgNotifyBus.onReconnect(() -> taskExecutor.execute(this::reload));
+    }
+
+    /**
+     * Rebuilds all calendars from the active appointments of today onwards. Staff calendars are
+     * replaced one by one; a reservation lost in between is caught by the database check.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<UUID, Map<LocalDate, SlotCalendar>> loaded = new ConcurrentHashMap<>();
+        LocalDateTime from = LocalDate.now().atStartOfDay();
+        int[] appointments = new int[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                appointmentJdbcRepository.forEachActiveAppointment(from, appointment -> {
+                    markBusy(loaded, appointment.getStaffId(), appointment.getStart(), appointment.getEnd());
+                    appointments[0]++;
+                }));
+        calendars.keySet().retainAll(loaded.keySet());
+        calendars.putAll(loaded);
+        logger.info("Loaded {} upcoming appointments of {} staff members", appointments[0], loaded.size());
+    }
+
+    /**
+     * The first {@code count} start times within the next {@code days} days at which some staff member
+     * is free for the whole service, earliest first.
+     */
+    public List<AvailableSlotDTO> findAvailableSlots(UUID serviceId, int count, int days) {
+        com.beautyparlour.entity.Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
+        int length = slotsFor(service.getDurationMinutes());
+        int wanted = Math.min(Math.max(count, 1), AppConstants.Pagination.MAX_PAGE_SIZE);
+        int horizon = Math.min(Math.max(days, 1), maxDaysAhead);
+        List<StaffMember> staff = staffOf(service.getParlourId());
+
+        List<AvailableSlotDTO> slots = new ArrayList<>(wanted);
+        if (staff.isEmpty() || length > slotsPerDay) {
+            return slots;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SlotCalendar[] dayCalendars = new SlotCalendar[staff.size()];
+        for (int offset = 0; offset < horizon && slots.size() < wanted; offset++) {
+            LocalDate day = now.toLocalDate().plusDays(offset);
+            for (int i = 0; i < dayCalendars.length; i++) {
+                Map<LocalDate, SlotCalendar> staffDays = calendars.get(staff.get(i).id());
+                dayCalendars[i] = staffDays == null ? null : staffDays.get(day);
+            }
+            int first = offset == 0 ? Math.max(0, slotAtOrAfter(now)) : 0;
+            for (int slot = first; slot + length <= slotsPerDay && slots.size() < wanted; slot++) {
+                for (int i = 0; i < dayCalendars.length; i++) {
+                    if (dayCalendars[i] == null || dayCalendars[i].isFree(slot, length)) {
+                        LocalDateTime start = startOf(day, slot);
+                        slots.add(new AvailableSlotDTO(start, start.plusMinutes(service.getDurationMinutes()),
+                                staff.get(i).id(), staff.get(i).name()));
+                        break;
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Holds the slots of an appointment in memory. Must be followed by {@link #confirm} in the
+     * transaction saving the booking, or by {@link #cancel} if the booking is not saved.
+     * @param staffId the requested staff member, or null for the first one who is free
+     * @throws BusinessRuleViolationException if the time is invalid or already taken
+     */
+    public Reservation reserve(com.beautyparlour.entity.Service service, UUID staffId, LocalDateTime start) {
+        int length = slotsFor(service.getDurationMinutes());
+        int slot = slotAtOrAfter(start);
+        if (slot < 0 || slot + length > slotsPerDay || !startOf(start.toLocalDate(), slot).equals(start)) {
+            throw new BusinessRuleViolationException("Appointments must start on a " + slotMinutes
+                    + "-minute slot and end within opening hours");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!start.isAfter(now)) {
+            throw new BusinessRuleViolationException("Appointments must be in the future");
+        }
+        if (start.toLocalDate().isAfter(now.toLocalDate().plusDays(maxDaysAhead))) {
+            throw new BusinessRuleViolationException("Appointments can be booked at most " + maxDaysAhead + " days ahead");
+        }
+
+        List<StaffMember> candidates = staffOf(service.getParlourId()).stream()
+                .filter(member -> staffId == null || member.id().equals(staffId))
+                .toList();
+        if (candidates.isEmpty()) {
+            throw new ResourceNotFoundException("Staff not found");
+        }
+        for (StaffMember member : candidates) {
+            if (calendar(calendars, member.id(), start.toLocalDate()).tryReserve(slot, length)) {
+                return new Reservation(member.id(), start, start.plusMinutes(service.getDurationMinutes()));
+            }
+        }
+        throw new BusinessRuleViolationException("The selected appointment time is no longer available");
+    }
+
+    /**
+     * Checks the reservation against the stored appointments and tells the other nodes about it once
+     * the transaction commits. Must run inside the transaction that saves the booking.
+     * @throws BusinessRuleViolationException if another booking already holds the time
+     */
+    public void confirm(Reservation reservation) {
+        appointmentJdbcRepository.lockStaffDay(reservation.staffId, reservation.start.toLocalDate());
+        if (appointmentJdbcRepository.hasOverlap(reservation.staffId, reservation.start, reservation.end)) {
+            reservation.conflicted = true;
+            throw new BusinessRuleViolationException("The selected appointment time is no longer available");
+        }
+        forward(RESERVED, reservation.staffId, reservation.start, reservation.end);
+    }
+
+    /**
+     * Gives back the slots of a reservation whose booking was not saved.
+     */
+    public void cancel(Reservation reservation) {
+        release(reservation.staffId, reservation.start, reservation.end);
+        if (reservation.conflicted) {
+            // This node missed an appointment; read the day again
+            reloadDay(reservation.staffId, reservation.start.toLocalDate());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        if (!"SERVICE".equals(event.getBookingType()) || !"CANCELLED".equals(event.getStatus())) {
+            return;
+        }
+        try {
+            appointmentJdbcRepository.findAppointment(event.getBookingId()).ifPresent(appointment -> {
+                release(appointment.getStaffId(), appointment.getStart(), appointment.getEnd());
+                forward(RELEASED, appointment.getStaffId(), appointment.getStart(), appointment.getEnd());
+            });
+        } catch (Exception e) {
+            // The slots only look busy until the next reload; bookings are never let through wrongly
+            logger.warn("Could not release the appointment of booking {}", event.getBookingId(), e);
+        }
+    }
+
+    @Scheduled(cron = "${appointments.cleanup-cron:0 5 0 * * *}")
+    public void dropPastDays() {
+        LocalDate today = LocalDate.now();
+        calendars.values().forEach(days -> days.keySet().removeIf(day -> day.isBefore(today)));
+    }
+
+    private void reloadDay(UUID staffId, LocalDate day) {
+        Map<UUID, Map<LocalDate, SlotCalendar>> loaded = new ConcurrentHashMap<>();
+        appointmentJdbcRepository.findActiveAppointments(staffId, day.atStartOfDay(), day.plusDays(1).atStartOfDay())
+                .forEach(appointment -> markBusy(loaded, staffId, appointment.getStart(), appointment.getEnd()));
+        SlotCalendar reloaded = loaded.getOrDefault(staffId, Map.of()).getOrDefault(day, new SlotCalendar(slotsPerDay));
+        calendars.computeIfAbsent(staffId, id -> new ConcurrentHashMap<>()).put(day, reloaded);
+    }
+
+    private void release(UUID staffId, LocalDateTime start, LocalDateTime end) {
+        int[] range = slotRange(start, end);
+        Map<LocalDate, SlotCalendar> staffDays = calendars.get(staffId);
+        SlotCalendar calendar = staffDays == null ? null : staffDays.get(start.toLocalDate());
+        if (calendar != null && range[0] < range[1]) {
+            calendar.release(range[0], range[1] - range[0]);
+        }
+    }
+
+    private void markBusy(Map<UUID, Map<LocalDate, SlotCalendar>> target, UUID staffId,
+                          LocalDateTime start, LocalDateTime end) {
+        int[] range = slotRange(start, end);
+        if (range[0] < range[1]) {
+            calendar(target, staffId, start.toLocalDate()).markBusy(range[0], range[1] - range[0]);
+        }
+    }
+
+    // Slots [from, to) of the appointment's day that it covers, clipped to opening hours; appointments
+    // stored before the opening hours changed may lie partly outside them or run past midnight
+    private int[] slotRange(LocalDateTime start, LocalDateTime end) {
+        int from = Math.max(0, slotAtOrBefore(start));
+        int to = end.toLocalDate().equals(start.toLocalDate()) ? Math.min(slotsPerDay, slotAtOrAfter(end)) : slotsPerDay;
+        return new int[]{from, to};
+    }
+
+    private void forward(String change, UUID staffId, LocalDateTime start, LocalDateTime end) {
+        try {
+            pgNotifyBus.publish(CHANNEL, change + "," + staffId + "," + start + "," + end);
+        } catch (Exception e) {
+            // Other nodes catch up through the database check and their next reload
+            logger.warn("Could not forward appointment change for staff {}", staffId, e);
+        }
+    }
+
+    private void onRemoteChange(String payload) {
+        try {
+            String[] parts = payload.split(",");
+            UUID staffId = UUID.fromString(parts[1]);
+            LocalDateTime start = LocalDateTime.parse(parts[2]);
+            LocalDateTime end = LocalDateTime.parse(parts[3]);
+            if (RESERVED.equals(parts[0])) {
+                markBusy(calendars, staffId, start, end);
+            } else if (RELEASED.equals(parts[0])) {
+                release(staffId, start, end);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed appointment change: {}", payload);
+        }
+    }
+
+    private List<StaffMember> staffOf(UUID parlourId) {
+        ParlourStaff cached = staffByParlour.get(parlourId);
+        long now = System.currentTimeMillis();
+        if (cached == null || now - cached.loadedAtMillis() > staffRefreshSeconds * 1000) {
+            List<StaffMember> members = staffRepository.findByParlourId(parlourId).stream()
+                    .sorted(Comparator.comparing(Staff::getName))
+                    .map(staff -> new StaffMember(staff.getId(), staff.getName()))
+                    .toList();
+            cached = new ParlourStaff(members, now);
+            staffByParlour.put(parlourId, cached);
+        }
+        return cached.members();
+    }
+
+    private SlotCalendar calendar(Map<UUID, Map<LocalDate, SlotCalendar>> target, UUID staffId, LocalDate day) {
+        return target.computeIfAbsent(staffId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(day, d -> new SlotCalendar(slotsPerDay));
+    }
+
+    private int slotsFor(int durationMinutes) {
+        return (durationMinutes + slotMinutes - 1) / slotMinutes;
+    }
+
+    // Index of the slot starting at or after the given time on its day; may be negative or past the last slot
+    private int slotAtOrAfter(LocalDateTime time) {
+        long seconds = Duration.between(time.toLocalDate().atTime(opening), time).toSeconds();
+        return (int) -Math.floorDiv(-seconds, slotMinutes * 60L);
+    }
+
+    private int slotAtOrBefore(LocalDateTime time) {
+        long seconds = Duration.between(time.toLocalDate().atTime(opening), time).toSeconds();
+        return (int) Math.floorDiv(seconds, slotMinutes * 60L);
+    }
+
+    private LocalDateTime startOf(LocalDate day, int slot) {
+        return day.atTime(opening).plusMinutes((long) slot * slotMinutes);
+    }
+}
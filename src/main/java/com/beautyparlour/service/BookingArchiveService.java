@@ -0,0 +1,111 @@
+package com.beautyparlour.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves completed and cancelled bookings older than a configurable age from the hot
+ * booking tables into the archive tables. Each batch is a single DELETE ... RETURNING
+ * feeding an INSERT, so a row is never visible in both places or lost in between.
+ */
+@Service
+public class BookingArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingArchiveService.class);
+
+    private static final String ARCHIVE_SERVICE_BOOKINGS_SQL =
+            "WITH moved AS (" +
+            "  DELETE FROM service_bookings WHERE (id, created_at) IN (" +
+            "    SELECT id, created_at FROM service_bookings" +
+            "    WHERE status IN ('COMPLETED', 'CANCELLED') AND created_at < ?" +
+            "    ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED)" +
+            "  RETURNING id, parlour_id, service_id, client_name, phone, status, cancel_reason, price_at_booking, customer_id, staff_id, appointment_start, appointment_end, created_at, updated_at) " +
+            "INSERT INTO service_bookings_archive " +
+            "(id, parlour_id, service_id, client_name, phone, status, cancel_reason, price_at_booking, customer_id, staff_id, appointment_start, appointment_end, created_at, updated_at, archived_at) " +
+            "SELECT id, parlour_id, service_id, client_name, phone, status, cancel_reason, price_at_booking, customer_id, staff_id, appointment_start, appointment_end, created_at, updated_at, CURRENT_TIMESTAMP " +
+            "FROM moved";
+
+    private static final String ARCHIVE_COURSE_BOOKINGS_SQL =
+            "WITH moved AS (" +
+            "  DELETE FROM course_bookings WHERE (id, created_at) IN (" +
+            "    SELECT id, created_at FROM course_bookings" +
+            "    WHERE status IN ('COMPLETED', 'CANCELLED') AND created_at < ?" +
+            "    ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED)" +
+            "  RETURNING id, parlour_id, course_id, client_name, phone, status, cancel_reason, price_at_booking, customer_id, created_at, updated_at) " +
+            "INSERT INTO course_bookings_archive " +
+            "(id, parlour_id, course_id, client_name, phone, status, cancel_reason, price_at_booking, customer_id, created_at, updated_at, archived_at) " +
+            "SELECT id, parlour_id, course_id, client_name, phone, status, cancel_reason, price_at_booking, customer_id, created_at, updated_at, CURRENT_TIMESTAMP " +
+            "FROM moved";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${booking.archive.min-age-days:180}")
+    private int minAgeDays;
+
+    @Value("${booking.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${booking.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${booking.archive.cron:0 30 3 * * *}")
+    public void archiveOldBookings() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int services = archiveInBatches("service_bookings", ARCHIVE_SERVICE_BOOKINGS_SQL, cutoff);
+        int courses = archiveInBatches("course_bookings", ARCHIVE_COURSE_BOOKINGS_SQL, cutoff);
+        logger.info("Archived {} service bookings and {} course bookings created before {}",
+                services, courses, cutoff);
+    }
+
+    /**
+     * Archives every completed and cancelled booking of a table created before the cutoff, whether or
+     * not scheduled archiving is enabled. Used before old partitions are dropped.
+     * @param table {@code service_bookings} or {@code course_bookings}
+     * @return the number of bookings moved
+     */
+    public int archiveAllBefore(String table, LocalDateTime cutoff) {
+        String sql = switch (table) {
+            case "service_bookings" -> ARCHIVE_SERVICE_BOOKINGS_SQL;
+            case "course_bookings" -> ARCHIVE_COURSE_BOOKINGS_SQL;
+            default -> throw new IllegalArgumentException("Not a booking table: " + table);
+        };
+        int total = 0;
+        int moved;
+        do {
+            moved = jdbcTemplate.update(sql, cutoff, batchSize);
+            total += moved;
+        } while (moved >= batchSize);
+        return total;
+    }
+
+    private int archiveInBatches(String table, String sql, LocalDateTime cutoff) {
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                // Each statement commits on its own, keeping locks and WAL bursts short
+                int moved = jdbcTemplate.update(sql, cutoff, batchSize);
+                total += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Archiving {} stopped after {} rows", table, total, e);
+        }
+        return total;
+    }
+}
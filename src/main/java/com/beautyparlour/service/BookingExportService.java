@@ -0,0 +1,256 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.entity.CourseBooking;
+import com.beautyparlour.entity.ServiceBooking;
+import com.beautyparlour.repository.BookingExportJdbcRepository;
+import com.beautyparlour.util.CsvUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a parlour's bookings as CSV or NDJSON. Rows are read through a server-side cursor
+ * and written one at a time, so memory use does not depend on the size of the export.
+ * Exports cover the parlour's whole history: archived bookings are read together with the live
+ * ones, in creation order, so accounting exports keep completed and cancelled bookings of any age.
+ */
+@Service
+public class BookingExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExportService.class);
+
+    // Push buffered rows to the client every this many rows (matches the cursor fetch size)
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final LocalDateTime EARLIEST = LocalDate.of(1970, 1, 1).atStartOfDay();
+
+    public enum Format {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() { return extension; }
+        public String getContentType() { return contentType; }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    @Autowired
+    private BookingExportJdbcRepository bookingExportJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public StreamingResponseBody exportServiceBookings(UUID parlourId, LocalDate from, LocalDate to,
+                                                       String status, Format format, boolean gzip) {
+        return exportServiceBookings(parlourId, from, to, status, format, gzip, rows -> {});
+    }
+
+    /**
+     * Same as the plain export, reporting the number of rows written so far as the export proceeds.
+     */
+    public StreamingResponseBody exportServiceBookings(UUID parlourId, LocalDate from, LocalDate to,
+                                                       String status, Format format, boolean gzip, LongConsumer progress) {
+        // Resolve filters before streaming starts so bad input still gets a normal error response
+        LocalDateTime start = startOf(from);
+        LocalDateTime end = endOf(to);
+        List<String> statuses = statuses(ServiceBooking.BookingStatus.class, status);
+
+        return out -> writeExport(out, gzip, writer -> {
+            if (format == Format.CSV) {
+                CsvUtils.writeRow(writer, "id", "created_at", "status", "client_name", "phone",
+                        "service_id", "service_name", "service_price", "price_at_booking", "cancel_reason");
+            }
+            RowCounter rows = new RowCounter(writer, progress);
+            bookingExportJdbcRepository.forEachServiceBooking(parlourId, start, end, statuses, (booking, servicePrice) -> {
+                try {
+                    if (format == Format.CSV) {
+                        CsvUtils.writeRow(writer, booking.getId(), booking.getCreatedAt(), booking.getStatus(),
+                                booking.getClientName(), booking.getPhone(), booking.getServiceId(),
+                                booking.getServiceName(), servicePrice,
+                                booking.getPriceAtBooking(), booking.getCancelReason());
+                    } else {
+                        writeJsonLine(writer, booking);
+                    }
+                    rows.written();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows.finish();
+        });
+    }
+
+    public StreamingResponseBody exportCourseBookings(UUID parlourId, LocalDate from, LocalDate to,
+                                                      String status, Format format, boolean gzip) {
+        return exportCourseBookings(parlourId, from, to, status, format, gzip, rows -> {});
+    }
+
+    /**
+     * Same as the plain export, reporting the number of rows written so far as the export proceeds.
+     */
+    public StreamingResponseBody exportCourseBookings(UUID parlourId, LocalDate from, LocalDate to,
+                                                      String status, Format format, boolean gzip, LongConsumer progress) {
+        LocalDateTime start = startOf(from);
+        LocalDateTime end = endOf(to);
+        List<String> statuses = statuses(CourseBooking.BookingStatus.class, status);
+
+        return out -> writeExport(out, gzip, writer -> {
+            if (format == Format.CSV) {
+                CsvUtils.writeRow(writer, "id", "created_at", "status", "client_name", "phone",
+                        "course_id", "course_name", "course_price", "price_at_booking", "cancel_reason");
+            }
+            RowCounter rows = new RowCounter(writer, progress);
+            bookingExportJdbcRepository.forEachCourseBooking(parlourId, start, end, statuses, booking -> {
+                try {
+                    if (format == Format.CSV) {
+                        CsvUtils.writeRow(writer, booking.getId(), booking.getCreatedAt(), booking.getStatus(),
+                                booking.getClientName(), booking.getPhone(), booking.getCourseId(),
+                                booking.getCourse() != null ? booking.getCourse().getName() : null,
+                                booking.getCourse() != null ? booking.getCourse().getPrice() : null,
+                                booking.getPriceAtBooking(), booking.getCancelReason());
+                    } else {
+                        writeJsonLine(writer, booking);
+                    }
+                    rows.written();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows.finish();
+        });
+    }
+
+    /**
+     * Number of rows the matching service booking export will contain.
+     */
+    public long countServiceBookings(UUID parlourId, LocalDate from, LocalDate to, String status) {
+        return bookingExportJdbcRepository.countServiceBookings(parlourId, startOf(from), endOf(to),
+                statuses(ServiceBooking.BookingStatus.class, status));
+    }
+
+    /**
+     * Number of rows the matching course booking export will contain.
+     */
+    public long countCourseBookings(UUID parlourId, LocalDate from, LocalDate to, String status) {
+        return bookingExportJdbcRepository.countCourseBookings(parlourId, startOf(from), endOf(to),
+                statuses(CourseBooking.BookingStatus.class, status));
+    }
+
+    private void writeExport(OutputStream out, boolean gzip, ExportBody body) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, WRITE_BUFFER_SIZE, true) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzip ? gzipStream : out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        long rows;
+        try {
+            rows = transactionTemplate.execute(status -> {
+                try {
+                    return body.write(writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download; the cursor is already closed
+            logger.warn("Booking export aborted: {}", e.getCause().getMessage());
+            throw e.getCause();
+        }
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        logger.debug("Exported {} bookings", rows);
+    }
+
+    private void writeJsonLine(Writer writer, Object value) throws IOException {
+        writer.write(objectMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    // All statuses when none is given; an unknown status fails before streaming starts
+    private static <E extends Enum<E>> List<String> statuses(Class<E> statusType, String status) {
+        if (status == null) {
+            return Arrays.stream(statusType.getEnumConstants()).map(Enum::name).toList();
+        }
+        return List.of(Enum.valueOf(statusType, status.toUpperCase()).name());
+    }
+
+    private LocalDateTime startOf(LocalDate from) {
+        return from != null ? from.atStartOfDay() : EARLIEST;
+    }
+
+    private LocalDateTime endOf(LocalDate to) {
+        // Inclusive end date; bookings created later today are included by default
+        return (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+    }
+
+    @FunctionalInterface
+    private interface ExportBody {
+        long write(Writer writer) throws IOException;
+    }
+
+    // Flushes to the client and reports progress every FLUSH_EVERY_ROWS rows
+    private static final class RowCounter {
+        private final Writer writer;
+        private final LongConsumer progress;
+        private long count;
+
+        private RowCounter(Writer writer, LongConsumer progress) throws IOException {
+            this.writer = writer;
+            this.progress = progress;
+            // Send the header right away so the download starts before the first batch is read
+            writer.flush();
+        }
+
+        private void written() throws IOException {
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+                progress.accept(count);
+            }
+        }
+
+        private long finish() {
+            progress.accept(count);
+            return count;
+        }
+    }
+}
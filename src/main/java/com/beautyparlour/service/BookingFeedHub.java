@@ -0,0 +1,272 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.dto.response.BookingFeedEventDTO;
+import com.beautyparlour.event.BookingCreatedEvent;
+import com.beautyparlour.event.BookingStatusChangedEvent;
+import com.beautyparlour.event.PgNotifyBus;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes booking changes of a parlour to its open admin feeds as Server-Sent Events.
+ * <p>
+ * Every subscriber has a small bounded buffer drained by the feed executor, so publishing never
+ * blocks on a client. A subscriber whose buffer overflows is disconnected; the browser reconnects
+ * and reloads the list once. Events are delivered after the booking transaction commits and are
+ * forwarded to the other nodes over {@link PgNotifyBus}. After the listener connection was lost,
+ * every subscriber gets a {@code resync} event because changes may have been missed.
+ */
+@Service
+public class BookingFeedHub {
+
+    public static final String CHANNEL = "booking_feed";
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingFeedHub.class);
+
+    private static final String BOOKING_CREATED = "booking-created";
+    private static final String STATUS_CHANGED = "status-changed";
+    private static final String RESYNC = "resync";
+
+    // A null name marks a keep-alive comment
+    private record Message(String name, String data) {}
+
+    private static final Message HEARTBEAT = new Message(null, null);
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PgNotifyBus pgNotifyBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("bookingFeedExecutor")
+    private TaskExecutor feedExecutor;
+
+    @Value("${booking-feed.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${booking-feed.max-subscribers-per-parlour:20}")
+    private int maxSubscribersPerParlour;
+
+    @Value("${booking-feed.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @PostConstruct
+    public void init() {
+        pgNotifyBus.subscribe(CHANNEL, this::onRemoteEvent);
+        pgNotifyBus.onReconnect(() -> broadcast(new Message(RESYNC, "{}")));
+    }
+
+    public SseEmitter subscribe(UUID parlourId) {
+        Set<Subscriber> parlourSubscribers = subscribers.computeIfAbsent(parlourId, id -> ConcurrentHashMap.newKeySet());
+        if (parlourSubscribers.size() >= maxSubscribersPerParlour) {
+            throw new BusinessRuleViolationException("Too many open booking feeds for this parlour");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(parlourId, emitter);
+        parlourSubscribers.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    // pg_notify is sent on the booking's connection, so other nodes only hear about committed bookings
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void forwardBookingCreated(BookingCreatedEvent event) {
+        forward(toFeedEvent(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        deliver(toFeedEvent(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void forwardStatusChanged(BookingStatusChangedEvent event) {
+        forward(toFeedEvent(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        deliver(toFeedEvent(event));
+    }
+
+    /**
+     * Keeps idle connections from being closed by proxies; also detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${booking-feed.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        broadcast(HEARTBEAT);
+    }
+
+    private void forward(BookingFeedEventDTO event) {
+        try {
+            pgNotifyBus.publish(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            // The change itself must not fail because other nodes could not be told
+            logger.warn("Could not forward booking feed event for booking {}", event.getBookingId(), e);
+        }
+    }
+
+    private void onRemoteEvent(String payload) {
+        try {
+            deliver(objectMapper.readValue(payload, BookingFeedEventDTO.class));
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed booking feed event: {}", payload);
+        }
+    }
+
+    private void deliver(BookingFeedEventDTO event) {
+        Set<Subscriber> parlourSubscribers = subscribers.get(event.getParlourId());
+        if (parlourSubscribers == null || parlourSubscribers.isEmpty()) {
+            return;
+        }
+        Message message;
+        try {
+            message = new Message(event.getType(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize booking feed event for booking {}", event.getBookingId(), e);
+            return;
+        }
+        parlourSubscribers.forEach(subscriber -> subscriber.enqueue(message));
+    }
+
+    private void broadcast(Message message) {
+        subscribers.values().forEach(parlourSubscribers ->
+                parlourSubscribers.forEach(subscriber -> subscriber.enqueue(message)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        Set<Subscriber> parlourSubscribers = subscribers.get(subscriber.parlourId);
+        if (parlourSubscribers != null) {
+            parlourSubscribers.remove(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        remove(subscriber);
+        logger.info("Disconnected slow booking feed subscriber of parlour {}", subscriber.parlourId);
+        try {
+            // Completing may wait for a blocked send, so keep it off the publishing thread
+            feedExecutor.execute(subscriber.emitter::complete);
+        } catch (RuntimeException e) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private BookingFeedEventDTO toFeedEvent(BookingCreatedEvent event) {
+        BookingFeedEventDTO feedEvent = new BookingFeedEventDTO();
+        feedEvent.setType(BOOKING_CREATED);
+        feedEvent.setBookingId(event.getBookingId());
+        feedEvent.setParlourId(event.getParlourId());
+        feedEvent.setBookingType(event.getBookingType());
+        feedEvent.setItemId(event.getItemId());
+        feedEvent.setClientName(event.getClientName());
+        feedEvent.setStatus("PENDING");
+        feedEvent.setOccurredAt(LocalDateTime.now());
+        return feedEvent;
+    }
+
+    private BookingFeedEventDTO toFeedEvent(BookingStatusChangedEvent event) {
+        BookingFeedEventDTO feedEvent = new BookingFeedEventDTO();
+        feedEvent.setType(STATUS_CHANGED);
+        feedEvent.setBookingId(event.getBookingId());
+        feedEvent.setParlourId(event.getParlourId());
+        feedEvent.setBookingType(event.getBookingType());
+        feedEvent.setStatus(event.getStatus());
+        feedEvent.setCancelReason(event.getCancelReason());
+        feedEvent.setOccurredAt(LocalDateTime.now());
+        return feedEvent;
+    }
+
+    private final class Subscriber {
+        private final UUID parlourId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(UUID parlourId, SseEmitter emitter) {
+            this.parlourId = parlourId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Message message) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                evict(this);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        // At most one drain task per subscriber, so its events stay in order
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                feedExecutor.execute(this::drain);
+            } catch (RuntimeException e) {
+                draining.set(false);
+                evict(this);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while (!closed && (message = buffer.poll()) != null) {
+                    send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's error callback may not fire for a closed connection
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(Message message) throws IOException {
+            if (message.name() == null) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } else {
+                emitter.send(SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
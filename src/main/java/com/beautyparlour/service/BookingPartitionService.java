@@ -0,0 +1,158 @@
+package com.beautyparlour.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of the booking tables created by the V3 migration.
+ * Partitions are created a few months ahead so inserts never land in the default
+ * partition; rows that did land there are moved into the new partition when it is created.
+ * For partitions older than the retention window, completed and cancelled bookings are moved
+ * to the archive tables first and the partition is dropped once it is empty, so no booking
+ * disappears from the read paths. A partition still holding open bookings stays attached.
+ */
+@Service
+@ConditionalOnProperty(name = "booking.partitioning.enabled", havingValue = "true")
+public class BookingPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingPartitionService.class);
+    private static final List<String> PARTITIONED_TABLES = List.of("service_bookings", "course_bookings");
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${booking.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${booking.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${booking.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                for (int i = 0; i <= monthsAhead; i++) {
+                    createPartition(table, current.plusMonths(i));
+                }
+                if (retentionMonths > 0) {
+                    dropPartitionsBefore(table, current.minusMonths(retentionMonths));
+                }
+            } catch (Exception e) {
+                logger.error("Partition maintenance failed for table {}", table, e);
+            }
+        }
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+            return;
+        }
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String defaultPartition = table + "_default";
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Creating the partition fails while the default partition holds rows of its range,
+            // so those rows are parked in a temporary table and re-inserted through the parent
+            jdbcTemplate.execute("LOCK TABLE " + defaultPartition + " IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TEMP TABLE default_rows (LIKE " + table + ") ON COMMIT DROP");
+            int parked = jdbcTemplate.update("INSERT INTO default_rows SELECT * FROM " + defaultPartition +
+                    " WHERE created_at >= ? AND created_at < ?", from, to);
+            if (parked > 0) {
+                jdbcTemplate.update("DELETE FROM " + defaultPartition + " WHERE created_at >= ? AND created_at < ?",
+                        from, to);
+            }
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partition, table, from.toLocalDate(), to.toLocalDate()));
+            if (parked > 0) {
+                // Generated columns are computed again on insert and cannot be written
+                String columns = String.join(", ", jdbcTemplate.queryForList(
+                        "SELECT quote_ident(column_name) FROM information_schema.columns " +
+                        "WHERE table_schema = current_schema() AND table_name = ? AND is_generated = 'NEVER' " +
+                        "ORDER BY ordinal_position", String.class, table));
+                jdbcTemplate.update(String.format("INSERT INTO %s (%s) SELECT %s FROM default_rows",
+                        table, columns, columns));
+                logger.warn("Moved {} rows of {} from {} into the new partition {}",
+                        parked, month, defaultPartition, partition);
+            }
+        });
+    }
+
+    private void dropPartitionsBefore(String table, YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ?", String.class, table);
+
+        String prefix = table + "_p";
+        for (String partition : partitions) {
+            if (!partition.startsWith(prefix)) {
+                continue; // default partition
+            }
+            YearMonth month;
+            try {
+                month = YearMonth.parse(partition.substring(prefix.length()), SUFFIX_FORMAT);
+            } catch (DateTimeParseException e) {
+                logger.warn("Skipping partition with unexpected name: {}", partition);
+                continue;
+            }
+            if (month.isBefore(cutoff)) {
+                dropPartition(table, partition, month);
+            }
+        }
+    }
+
+    private void dropPartition(String table, String partition, YearMonth month) {
+        int archived = bookingArchiveService.archiveAllBefore(table, month.plusMonths(1).atDay(1).atStartOfDay());
+        Boolean dropped = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + partition + " IN ACCESS EXCLUSIVE MODE");
+            if (jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class)) {
+                return false;
+            }
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table, partition));
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return true;
+        });
+        if (Boolean.TRUE.equals(dropped)) {
+            logger.info("Archived {} bookings and dropped partition {} of {}", archived, partition, table);
+        } else {
+            logger.warn("Partition {} of {} is past retention but still holds open bookings; keeping it attached",
+                    partition, table);
+        }
+    }
+
+    private String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX_FORMAT);
+    }
+}
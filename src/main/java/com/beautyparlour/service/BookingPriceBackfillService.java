@@ -0,0 +1,81 @@
+package com.beautyparlour.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fills price_at_booking of bookings made before the column existed, in small batches that
+ * each commit on their own. Historical prices are not known, so the current catalog price is used.
+ */
+@Service
+public class BookingPriceBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingPriceBackfillService.class);
+
+    private static final String SERVICE_BOOKINGS_SQL =
+            "UPDATE service_bookings b SET price_at_booking = s.price FROM services s " +
+            "WHERE s.id = b.service_id AND (b.id, b.created_at) IN (" +
+            "  SELECT id, created_at FROM service_bookings WHERE price_at_booking IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String COURSE_BOOKINGS_SQL =
+            "UPDATE course_bookings b SET price_at_booking = c.price FROM courses c " +
+            "WHERE c.id = b.course_id AND (b.id, b.created_at) IN (" +
+            "  SELECT id, created_at FROM course_bookings WHERE price_at_booking IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String SERVICE_BOOKINGS_ARCHIVE_SQL =
+            "UPDATE service_bookings_archive b SET price_at_booking = s.price FROM services s " +
+            "WHERE s.id = b.service_id AND b.id IN (" +
+            "  SELECT id FROM service_bookings_archive WHERE price_at_booking IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String COURSE_BOOKINGS_ARCHIVE_SQL =
+            "UPDATE course_bookings_archive b SET price_at_booking = c.price FROM courses c " +
+            "WHERE c.id = b.course_id AND b.id IN (" +
+            "  SELECT id FROM course_bookings_archive WHERE price_at_booking IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.price-backfill.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * @return number of bookings filled per table
+     */
+    public Map<String, Integer> backfill() {
+        Map<String, Integer> filled = new LinkedHashMap<>();
+        filled.put("service_bookings", backfillInBatches("service_bookings", SERVICE_BOOKINGS_SQL));
+        filled.put("course_bookings", backfillInBatches("course_bookings", COURSE_BOOKINGS_SQL));
+        filled.put("service_bookings_archive", backfillInBatches("service_bookings_archive", SERVICE_BOOKINGS_ARCHIVE_SQL));
+        filled.put("course_bookings_archive", backfillInBatches("course_bookings_archive", COURSE_BOOKINGS_ARCHIVE_SQL));
+        logger.info("Booking price backfill finished: {}", filled);
+        return filled;
+    }
+
+    private int backfillInBatches(String table, String sql) {
+        int total = 0;
+        try {
+            while (true) {
+                // Each statement commits on its own, keeping row locks short
+                int updated = jdbcTemplate.update(sql, batchSize);
+                total += updated;
+                if (updated < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Price backfill of {} stopped after {} rows", table, total, e);
+        }
+        return total;
+    }
+}
@@ -1,24 +1,68 @@
 package com.beautyparlour.service;
 
+import com.beautyparlour.constants.AppConstants;
 import com.beautyparlour.dto.request.BookCourseRequest;
 import com.beautyparlour.dto.request.BookServiceRequest;
+import com.beautyparlour.dto.request.BulkUpdateBookingStatusRequest;
 import com.beautyparlour.dto.request.UpdateBookingStatusRequest;
+import com.beautyparlour.dto.response.BookingChangesDTO;
+import com.beautyparlour.dto.response.BulkStatusUpdateResult;
+import com.beautyparlour.dto.response.ClientBookingDTO;
+import com.beautyparlour.dto.response.CourseBookingDTO;
+import com.beautyparlour.dto.response.CursorPagedResponse;
+import com.beautyparlour.dto.response.ServiceBookingDTO;
+import com.beautyparlour.entity.ArchivedCourseBooking;
+import com.beautyparlour.entity.ArchivedServiceBooking;
 import com.beautyparlour.entity.CourseBooking;
 import com.beautyparlour.entity.ServiceBooking;
+import com.beautyparlour.event.BookingCreatedEvent;
+import com.beautyparlour.event.BookingStatusChangedEvent;
+import com.beautyparlour.exception.BusinessRuleViolationException;
 import com.beautyparlour.exception.ResourceNotFoundException;
+import com.beautyparlour.repository.ArchivedCourseBookingRepository;
+import com.beautyparlour.repository.ArchivedServiceBookingRepository;
+import com.beautyparlour.repository.BookingStatusJdbcRepository;
 import com.beautyparlour.repository.CourseBookingRepository;
 import com.beautyparlour.repository.CourseRepository;
+import com.beautyparlour.repository.CustomerJdbcRepository;
 import com.beautyparlour.repository.ServiceBookingRepository;
 import com.beautyparlour.repository.ServiceRepository;
+import com.beautyparlour.util.ClientNameUtils;
+import com.beautyparlour.util.CursorUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
+    // Before every booking: the feed starts here when no cursor is given
+    private static final CursorUtils.TimeIdCursor CHANGES_START =
+            new CursorUtils.TimeIdCursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0));
+
+    public record BookingChanges(BookingChangesDTO changes, String etag) {}
+
     @Autowired
     private CourseBookingRepository courseBookingRepository;
 
@@ -31,7 +75,36 @@ public class BookingService {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    @Autowired
+    private ArchivedCourseBookingRepository archivedCourseBookingRepository;
+
+    @Autowired
+    private ArchivedServiceBookingRepository archivedServiceBookingRepository;
+
+    @Autowired
+    private BookingStatusJdbcRepository bookingStatusJdbcRepository;
+
+    @Autowired
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AvailabilityEngine availabilityEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("clientLookupExecutor")
+    private TaskExecutor clientLookupExecutor;
+
+    @Value("${booking.changes.settle-seconds:10}")
+    private long changesSettleSeconds;
+
     // Course Booking Methods
+    @Transactional
     public CourseBooking bookCourse(BookCourseRequest request) {
         // Verify course exists
         com.beautyparlour.entity.Course course = courseRepository.findById(request.getCourseId())
@@ -46,45 +119,70 @@ public class BookingService {
                 request.getClientName().trim(),
                 phone
         );
-        return courseBookingRepository.save(booking);
+        booking.setPriceAtBooking(course.getPrice());
+        booking.setCustomerId(customerJdbcRepository.upsert(
+                booking.getParlourId(), phone, booking.getClientName(), LocalDateTime.now()));
+        CourseBooking saved = courseBookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingCreatedEvent(this, saved.getId(), saved.getParlourId(),
+                "COURSE", saved.getCourseId(), saved.getClientName(), saved.getPhone()));
+        return saved;
     }
 
     public List<CourseBooking> getCourseBookingsByClient(String clientName, String phone) {
-        System.out.println("Searching for bookings - Client: '" + clientName + "', Phone: '" + phone + "'");
-        List<CourseBooking> bookings = courseBookingRepository.findByClientNameAndPhone(clientName, phone);
-        System.out.println("Found " + bookings.size() + " bookings");
-        return bookings;
+        return courseBookingRepository.findByPhoneAndNormalizedName(phone, ClientNameUtils.normalize(clientName));
+    }
+
+    public List<ArchivedCourseBooking> getArchivedCourseBookingsByClient(String clientName, String phone) {
+        return archivedCourseBookingRepository.findByPhoneAndNormalizedName(phone, ClientNameUtils.normalize(clientName));
     }
 
     public List<CourseBooking> getCourseBookingsByParlour(UUID parlourId) {
         return courseBookingRepository.findByParlourId(parlourId);
     }
 
+    @Transactional
     public void cancelCourseBooking(UUID bookingId) {
-        CourseBooking booking = courseBookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course booking not found"));
-        
-        if (booking.getStatus() != CourseBooking.BookingStatus.PENDING) {
-            throw new RuntimeException("Only pending bookings can be cancelled");
+        String cancelReason = "Cancelled by client";
+        Optional<UUID> parlourId = bookingStatusJdbcRepository.transitionStatusById(
+                BookingStatusJdbcRepository.COURSE_BOOKINGS, bookingId,
+                BookingStateMachine.clientCancellableStates(CourseBooking.BookingStatus.class).stream().map(Enum::name).toList(),
+                CourseBooking.BookingStatus.CANCELLED.name(), cancelReason);
+
+        if (parlourId.isEmpty()) {
+            if (!courseBookingRepository.existsById(bookingId)) {
+                throw new ResourceNotFoundException("Course booking not found");
+            }
+            throw new BusinessRuleViolationException("Only pending bookings can be cancelled");
         }
-        
-        booking.setStatus(CourseBooking.BookingStatus.CANCELLED);
-        booking.setCancelReason("Cancelled by client");
-        courseBookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(this, bookingId, parlourId.get(), "COURSE",
+                CourseBooking.BookingStatus.CANCELLED.name(), cancelReason));
     }
 
+    @Transactional
     public CourseBooking updateCourseBookingStatus(UUID bookingId, UpdateBookingStatusRequest request, UUID parlourId) {
+        CourseBooking.BookingStatus status = CourseBooking.BookingStatus.valueOf(request.getStatus().toUpperCase());
+        String cancelReason = status == CourseBooking.BookingStatus.CANCELLED ? request.getCancelReason() : null;
+
+        List<CourseBooking.BookingStatus> fromStatuses = BookingStateMachine.sourceStatesFor(status);
+        int updated = fromStatuses.isEmpty() ? 0
+                : courseBookingRepository.transitionStatus(bookingId, parlourId, fromStatuses, status, cancelReason);
+
+        // The row is read once either way: to build the response or to explain the rejection
         CourseBooking booking = courseBookingRepository.findByIdAndParlourId(bookingId, parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course booking not found"));
-
-        CourseBooking.BookingStatus status = CourseBooking.BookingStatus.valueOf(request.getStatus().toUpperCase());
-        booking.setStatus(status);
-        
-        if (status == CourseBooking.BookingStatus.CANCELLED && request.getCancelReason() != null) {
-            booking.setCancelReason(request.getCancelReason());
+        if (updated == 0) {
+            throw new BusinessRuleViolationException(
+                    "Cannot change course booking status from " + booking.getStatus() + " to " + status);
         }
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(this, bookingId, parlourId, "COURSE",
+                booking.getStatus().name(), booking.getCancelReason()));
+        return booking;
+    }
 
-        return courseBookingRepository.save(booking);
+    @Transactional
+    public BulkStatusUpdateResult bulkUpdateCourseBookingStatus(BulkUpdateBookingStatusRequest request, UUID parlourId) {
+        CourseBooking.BookingStatus status = CourseBooking.BookingStatus.valueOf(request.getStatus().toUpperCase());
+        return bulkTransition(BookingStatusJdbcRepository.COURSE_BOOKINGS, parlourId, request, status);
     }
 
     // Service Booking Methods
@@ -102,42 +200,248 @@ public class BookingService {
                 request.getClientName().trim(),
                 phone
         );
-        return serviceBookingRepository.save(booking);
+        booking.setPriceAtBooking(service.getPrice());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        if (request.getAppointmentStart() == null) {
+            return transaction.execute(status -> saveServiceBooking(booking));
+        }
+
+        AvailabilityEngine.Reservation reservation =
+                availabilityEngine.reserve(service, request.getStaffId(), request.getAppointmentStart());
+        booking.setStaffId(reservation.getStaffId());
+        booking.setAppointmentStart(reservation.getStart());
+        booking.setAppointmentEnd(reservation.getEnd());
+        try {
+            return transaction.execute(status -> {
+                availabilityEngine.confirm(reservation);
+                return saveServiceBooking(booking);
+            });
+        } catch (RuntimeException e) {
+            availabilityEngine.cancel(reservation);
+            throw e;
+        }
+    }
+
+    // The customer is only created or touched together with a booking that is actually saved
+    private ServiceBooking saveServiceBooking(ServiceBooking booking) {
+        booking.setCustomerId(customerJdbcRepository.upsert(
+                booking.getParlourId(), booking.getPhone(), booking.getClientName(), LocalDateTime.now()));
+        ServiceBooking saved = serviceBookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingCreatedEvent(this, saved.getId(), saved.getParlourId(),
+                "SERVICE", saved.getServiceId(), saved.getClientName(), saved.getPhone()));
+        return saved;
     }
 
     public List<ServiceBooking> getServiceBookingsByClient(String clientName, String phone) {
-        return serviceBookingRepository.findByClientNameAndPhone(clientName, phone);
+        return serviceBookingRepository.findByPhoneAndNormalizedName(phone, ClientNameUtils.normalize(clientName));
+    }
+
+    public List<ArchivedServiceBooking> getArchivedServiceBookingsByClient(String clientName, String phone) {
+        return archivedServiceBookingRepository.findByPhoneAndNormalizedName(phone, ClientNameUtils.normalize(clientName));
     }
 
     public List<ServiceBooking> getServiceBookingsByParlour(UUID parlourId) {
         return serviceBookingRepository.findByParlourId(parlourId);
     }
 
+    @Transactional
     public void cancelServiceBooking(UUID bookingId) {
-        ServiceBooking booking = serviceBookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Service booking not found"));
-        
-        if (booking.getStatus() != ServiceBooking.BookingStatus.PENDING) {
-            throw new RuntimeException("Only pending bookings can be cancelled");
+        String cancelReason = "Cancelled by client";
+        Optional<UUID> parlourId = bookingStatusJdbcRepository.transitionStatusById(
+                BookingStatusJdbcRepository.SERVICE_BOOKINGS, bookingId,
+                BookingStateMachine.clientCancellableStates(ServiceBooking.BookingStatus.class).stream().map(Enum::name).toList(),
+                ServiceBooking.BookingStatus.CANCELLED.name(), cancelReason);
+
+        if (parlourId.isEmpty()) {
+            if (!serviceBookingRepository.existsById(bookingId)) {
+                throw new ResourceNotFoundException("Service booking not found");
+            }
+            throw new BusinessRuleViolationException("Only pending bookings can be cancelled");
         }
-        
-        booking.setStatus(ServiceBooking.BookingStatus.CANCELLED);
-        booking.setCancelReason("Cancelled by client");
-        serviceBookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(this, bookingId, parlourId.get(), "SERVICE",
+                ServiceBooking.BookingStatus.CANCELLED.name(), cancelReason));
     }
 
+    @Transactional
     public ServiceBooking updateServiceBookingStatus(UUID bookingId, UpdateBookingStatusRequest request, UUID parlourId) {
+        ServiceBooking.BookingStatus status = ServiceBooking.BookingStatus.valueOf(request.getStatus().toUpperCase());
+        String cancelReason = status == ServiceBooking.BookingStatus.CANCELLED ? request.getCancelReason() : null;
+
+        List<ServiceBooking.BookingStatus> fromStatuses = BookingStateMachine.sourceStatesFor(status);
+        int updated = fromStatuses.isEmpty() ? 0
+                : serviceBookingRepository.transitionStatus(bookingId, parlourId, fromStatuses, status, cancelReason);
+
+        // The row is read once either way: to build the response or to explain the rejection
         ServiceBooking booking = serviceBookingRepository.findByIdAndParlourId(bookingId, parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service booking not found"));
+        if (updated == 0) {
+            throw new BusinessRuleViolationException(
+                    "Cannot change service booking status from " + booking.getStatus() + " to " + status);
+        }
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(this, bookingId, parlourId, "SERVICE",
+                booking.getStatus().name(), booking.getCancelReason()));
+        return booking;
+    }
 
+    @Transactional
+    public BulkStatusUpdateResult bulkUpdateServiceBookingStatus(BulkUpdateBookingStatusRequest request, UUID parlourId) {
         ServiceBooking.BookingStatus status = ServiceBooking.BookingStatus.valueOf(request.getStatus().toUpperCase());
-        booking.setStatus(status);
-        
-        if (status == ServiceBooking.BookingStatus.CANCELLED && request.getCancelReason() != null) {
-            booking.setCancelReason(request.getCancelReason());
+        return bulkTransition(BookingStatusJdbcRepository.SERVICE_BOOKINGS, parlourId, request, status);
+    }
+
+    // Applies one conditional UPDATE for the whole batch, then classifies the bookings it did not touch
+    private <E extends Enum<E>> BulkStatusUpdateResult bulkTransition(String table, UUID parlourId,
+                                                                       BulkUpdateBookingStatusRequest request, E status) {
+        Set<UUID> ids = new LinkedHashSet<>(request.getBookingIds());
+        List<String> fromStatuses = BookingStateMachine.sourceStatesFor(status).stream()
+                .map(Enum::name)
+                .collect(Collectors.toList());
+        String cancelReason = "CANCELLED".equals(status.name()) ? request.getCancelReason() : null;
+
+        Set<UUID> updated = fromStatuses.isEmpty() ? Set.of()
+                : bookingStatusJdbcRepository.transitionStatuses(table, parlourId, ids, fromStatuses, status.name(), cancelReason);
+
+        List<UUID> rejected = ids.stream().filter(id -> !updated.contains(id)).collect(Collectors.toList());
+        Map<UUID, String> currentStatuses = rejected.isEmpty() ? Map.of()
+                : bookingStatusJdbcRepository.findStatuses(table, parlourId, rejected);
+
+        String bookingType = BookingStatusJdbcRepository.SERVICE_BOOKINGS.equals(table) ? "SERVICE" : "COURSE";
+        List<BulkStatusUpdateResult.BookingOutcome> results = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            if (updated.contains(id)) {
+                eventPublisher.publishEvent(new BookingStatusChangedEvent(this, id, parlourId, bookingType,
+                        status.name(), cancelReason));
+                results.add(new BulkStatusUpdateResult.BookingOutcome(id, BulkStatusUpdateResult.Outcome.UPDATED, status.name()));
+            } else if (currentStatuses.containsKey(id)) {
+                results.add(new BulkStatusUpdateResult.BookingOutcome(id, BulkStatusUpdateResult.Outcome.INVALID_TRANSITION, currentStatuses.get(id)));
+            } else {
+                results.add(new BulkStatusUpdateResult.BookingOutcome(id, BulkStatusUpdateResult.Outcome.NOT_FOUND, null));
+            }
+        }
+        return new BulkStatusUpdateResult(status.name(), results);
+    }
+
+    /**
+     * One page of a client's service and course bookings across all parlours, newest first.
+     * <p>
+     * Both tables are read at the same time on the client lookup executor, each up to one row beyond
+     * the page, and merged by (createdAt, id).
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     */
+    public CursorPagedResponse<ClientBookingDTO> getClientBookings(String clientName, String phone, String cursor, int size) {
+        String normalizedPhone = validateAndNormalizePhone(phone);
+        String normalizedName = ClientNameUtils.normalize(clientName);
+        int pageSize = Math.min(Math.max(size, 1), AppConstants.Pagination.MAX_PAGE_SIZE);
+        CursorUtils.TimeIdCursor before = cursor == null || cursor.isBlank() ? null : CursorUtils.decodeTimeId(cursor);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+
+        // Entities are turned into DTOs on the worker, while the associations fetched with them are at hand
+        CompletableFuture<List<ClientBookingDTO>> services = CompletableFuture.supplyAsync(() -> (before == null
+                ? serviceBookingRepository.findClientBookings(normalizedPhone, normalizedName, firstRows)
+                : serviceBookingRepository.findClientBookingsBefore(normalizedPhone, normalizedName,
+                        before.time(), before.id(), firstRows))
+                .stream().map(ClientBookingDTO::new).toList(), clientLookupExecutor);
+        CompletableFuture<List<ClientBookingDTO>> courses = CompletableFuture.supplyAsync(() -> (before == null
+                ? courseBookingRepository.findClientBookings(normalizedPhone, normalizedName, firstRows)
+                : courseBookingRepository.findClientBookingsBefore(normalizedPhone, normalizedName,
+                        before.time(), before.id(), firstRows))
+                .stream().map(ClientBookingDTO::new).toList(), clientLookupExecutor);
+
+        List<ClientBookingDTO> bookings = new ArrayList<>(join(services));
+        bookings.addAll(join(courses));
+        bookings.sort((a, b) -> compareTimeId(b.getCreatedAt(), b.getId(), a.getCreatedAt(), a.getId()));
+
+        boolean hasNext = bookings.size() > pageSize;
+        List<ClientBookingDTO> page = List.copyOf(bookings.subList(0, Math.min(bookings.size(), pageSize)));
+        String nextCursor = null;
+        if (hasNext) {
+            ClientBookingDTO last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPagedResponse<>(page, pageSize, nextCursor);
+    }
+
+    /**
+     * Service and course bookings of a parlour created or modified after {@code since}, oldest change first.
+     * <p>
+     * Timestamps come from the database clock but are taken before commit, so a slow transaction can still
+     * commit a change older than one already returned. Changes inside the settle window, measured on the same
+     * clock, are therefore returned without moving the cursor past them; clients see them again on the next
+     * request and should apply changes by booking id.
+     * @param since a cursor from a previous response, or null to start with the oldest booking
+     * @return the changes and an ETag derived from them
+     */
+    @Transactional(readOnly = true)
+    public BookingChanges getBookingChanges(UUID parlourId, String since, int size) {
+        CursorUtils.TimeIdCursor position = since == null || since.isBlank()
+                ? CHANGES_START : CursorUtils.decodeTimeId(since);
+        int pageSize = Math.min(Math.max(size, 1), AppConstants.Pagination.MAX_PAGE_SIZE);
+        // One row beyond the page tells whether more changes follow
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<ServiceBooking> services = serviceBookingRepository.findChangedSince(
+                parlourId, position.time(), position.id(), firstRows);
+        List<CourseBooking> courses = courseBookingRepository.findChangedSince(
+                parlourId, position.time(), position.id(), firstRows);
+
+        // Database time, the clock updated_at is written with
+        LocalDateTime settled = bookingStatusJdbcRepository.databaseTimeSecondsAgo(changesSettleSeconds);
+        List<ServiceBookingDTO> serviceDTOs = new ArrayList<>();
+        List<CourseBookingDTO> courseDTOs = new ArrayList<>();
+        StringBuilder fingerprint = new StringBuilder();
+        CursorUtils.TimeIdCursor next = position;
+        boolean advancing = true;
+        int s = 0;
+        int c = 0;
+        // Merge both tables in (updatedAt, id) order, the order the cursor is compared in
+        while (s + c < pageSize && (s < services.size() || c < courses.size())) {
+            LocalDateTime updatedAt;
+            UUID id;
+            if (c == courses.size() || (s < services.size() && compareTimeId(services.get(s).getUpdatedAt(),
+                    services.get(s).getId(), courses.get(c).getUpdatedAt(), courses.get(c).getId()) < 0)) {
+                ServiceBooking booking = services.get(s++);
+                serviceDTOs.add(new ServiceBookingDTO(booking));
+                updatedAt = booking.getUpdatedAt();
+                id = booking.getId();
+            } else {
+                CourseBooking booking = courses.get(c++);
+                courseDTOs.add(new CourseBookingDTO(booking));
+                updatedAt = booking.getUpdatedAt();
+                id = booking.getId();
+            }
+            fingerprint.append(id).append('@').append(updatedAt).append(';');
+            // Rows are ordered by time, so once one is unsettled all following ones are too
+            advancing &= !updatedAt.isAfter(settled);
+            if (advancing) {
+                next = new CursorUtils.TimeIdCursor(updatedAt, id);
+            }
+        }
+        boolean hasMore = advancing && (s < services.size() || c < courses.size());
+        String nextCursor = CursorUtils.encode(next.time(), next.id());
+        fingerprint.append(nextCursor);
+        String etag = "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new BookingChanges(new BookingChangesDTO(serviceDTOs, courseDTOs, nextCursor, hasMore), etag);
+    }
+
+    // Rethrows what a lookup half failed with, rather than the CompletionException around it
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
+    }
 
-        return serviceBookingRepository.save(booking);
+    // Same order as the database, which compares UUIDs as unsigned bytes
+    private static int compareTimeId(LocalDateTime time, UUID id, LocalDateTime otherTime, UUID otherId) {
+        int byTime = time.compareTo(otherTime);
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), otherId.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(id.getLeastSignificantBits(), otherId.getLeastSignificantBits());
     }
 
     // Helper method to validate and normalize phone numbers
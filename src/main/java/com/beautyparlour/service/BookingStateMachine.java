@@ -0,0 +1,50 @@
+package com.beautyparlour.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allowed status transitions for service and course bookings.
+ * Both booking types share the same lifecycle, so transitions are defined on status names:
+ * PENDING -> ACCEPTED -> COMPLETED, with cancellation allowed until the booking is completed.
+ */
+public final class BookingStateMachine {
+
+    private static final Map<String, Set<String>> SOURCE_STATES = Map.of(
+            "ACCEPTED", Set.of("PENDING"),
+            "COMPLETED", Set.of("ACCEPTED"),
+            "CANCELLED", Set.of("PENDING", "ACCEPTED")
+    );
+
+    // Clients may only withdraw a booking the parlour has not acted on yet
+    private static final Set<String> CLIENT_CANCELLABLE_STATES = Set.of("PENDING");
+
+    private BookingStateMachine() {
+    }
+
+    /**
+     * Returns the statuses a booking may be in to move to the given target status.
+     * An empty list means the target can never be reached by a transition (e.g. PENDING).
+     */
+    public static <E extends Enum<E>> List<E> sourceStatesFor(E target) {
+        return toEnums(target.getDeclaringClass(), SOURCE_STATES.getOrDefault(target.name(), Collections.emptySet()));
+    }
+
+    /**
+     * Returns the statuses from which a client may cancel their own booking.
+     */
+    public static <E extends Enum<E>> List<E> clientCancellableStates(Class<E> statusType) {
+        return toEnums(statusType, CLIENT_CANCELLABLE_STATES);
+    }
+
+    private static <E extends Enum<E>> List<E> toEnums(Class<E> statusType, Set<String> names) {
+        List<E> states = new ArrayList<>(names.size());
+        for (String name : names) {
+            states.add(Enum.valueOf(statusType, name));
+        }
+        return states;
+    }
+}
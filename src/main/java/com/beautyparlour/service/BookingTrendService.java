@@ -0,0 +1,183 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.dto.response.MonthlyTrendDTO;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.repository.BookingFactJdbcRepository;
+import com.beautyparlour.util.BookingColumnSegment;
+import com.beautyparlour.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long-range booking trends served from a local columnar store instead of the booking tables.
+ * <p>
+ * Each parlour has one {@link BookingColumnSegment} file per month, extracted from the live and
+ * archived bookings by a nightly job. Months inside the reload window are extracted again on
+ * every run because their bookings still change status; older months are extracted once. The
+ * store is per node and lags the database by up to a day.
+ */
+@Service
+public class BookingTrendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingTrendService.class);
+    private static final int MAX_MONTHS = 240;
+
+    private record SegmentKey(UUID parlourId, YearMonth month) {}
+
+    private final Map<SegmentKey, BookingColumnSegment> segments = new ConcurrentHashMap<>();
+
+    @Autowired
+    private BookingFactJdbcRepository bookingFactJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.columnar.enabled:false}")
+    private boolean enabled;
+
+    @Value("${analytics.columnar.directory:data/columnar}")
+    private String directory;
+
+    @Value("${analytics.columnar.reload-months:2}")
+    private int reloadMonths;
+
+    @Scheduled(cron = "${analytics.columnar.etl-cron:0 0 4 * * *}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        int written = refreshAll(false);
+        logger.info("Columnar analytics refresh wrote {} month segments", written);
+    }
+
+    /**
+     * Extracts the months of every parlour that are missing from the store or inside the reload window.
+     * @param full extract every month again, e.g. after bookings older than the window were corrected
+     * @return number of month segments written
+     */
+    public int refreshAll(boolean full) {
+        requireEnabled();
+        YearMonth current = YearMonth.now();
+        YearMonth reloadFrom = current.minusMonths(Math.max(reloadMonths, 1) - 1L);
+        int written = 0;
+        for (Map.Entry<UUID, LocalDate> first : bookingFactJdbcRepository.findFirstBookingDays().entrySet()) {
+            UUID parlourId = first.getKey();
+            for (YearMonth month = YearMonth.from(first.getValue()); !month.isAfter(current); month = month.plusMonths(1)) {
+                if (!full && month.isBefore(reloadFrom) && Files.exists(segmentFile(parlourId, month))) {
+                    continue;
+                }
+                try {
+                    extract(parlourId, month);
+                    written++;
+                } catch (Exception e) {
+                    // The previous segment, if any, stays in place until the next run
+                    logger.error("Columnar extraction failed for parlour {} month {}", parlourId, month, e);
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Monthly booking counts and completed revenue for bookings created between {@code from} and
+     * {@code to}, both inclusive, optionally for a single service or course.
+     */
+    public List<MonthlyTrendDTO> getMonthlyTrends(UUID parlourId, LocalDate from, LocalDate to, UUID itemId) {
+        requireEnabled();
+        if (to.isBefore(from)) {
+            throw new BusinessRuleViolationException("The end date must not be before the start date");
+        }
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = YearMonth.from(to);
+        if (ChronoUnit.MONTHS.between(first, last) >= MAX_MONTHS) {
+            throw new BusinessRuleViolationException("Trends can cover at most " + MAX_MONTHS + " months");
+        }
+        LocalDate end = to.plusDays(1);
+
+        List<MonthlyTrendDTO> trends = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            BookingColumnSegment.Totals totals = new BookingColumnSegment.Totals();
+            BookingColumnSegment segment = segment(parlourId, month);
+            if (segment != null) {
+                LocalDate monthStart = month.atDay(1);
+                LocalDate monthEnd = month.plusMonths(1).atDay(1);
+                totals = segment.aggregate(segment.select(
+                        from.isAfter(monthStart) ? from : monthStart,
+                        end.isBefore(monthEnd) ? end : monthEnd,
+                        itemId));
+            }
+            trends.add(toTrend(month, totals));
+        }
+        return trends;
+    }
+
+    private void extract(UUID parlourId, YearMonth month) throws IOException {
+        BookingColumnSegment.Builder builder = new BookingColumnSegment.Builder();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> bookingFactJdbcRepository.forEachBookingFact(
+                parlourId, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay(),
+                (day, bookingStatus, itemId, price) -> builder.add(day, bookingStatus, itemId, Money.of(price))));
+
+        Path file = segmentFile(parlourId, month);
+        builder.writeTo(file);
+        segments.put(new SegmentKey(parlourId, month), BookingColumnSegment.open(file));
+    }
+
+    private BookingColumnSegment segment(UUID parlourId, YearMonth month) {
+        // Months that were never extracted are not cached, so a later run picks them up
+        return segments.computeIfAbsent(new SegmentKey(parlourId, month), key -> {
+            Path file = segmentFile(parlourId, month);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            try {
+                return BookingColumnSegment.open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open columnar segment " + file, e);
+            }
+        });
+    }
+
+    private Path segmentFile(UUID parlourId, YearMonth month) {
+        return Paths.get(directory, parlourId.toString(), month + ".seg");
+    }
+
+    private MonthlyTrendDTO toTrend(YearMonth month, BookingColumnSegment.Totals totals) {
+        MonthlyTrendDTO trend = new MonthlyTrendDTO();
+        trend.setMonth(month.toString());
+        trend.setTotalBookings(totals.getTotal());
+        trend.setPendingBookings(totals.getCount("PENDING"));
+        trend.setAcceptedBookings(totals.getCount("ACCEPTED"));
+        trend.setCompletedBookings(totals.getCount("COMPLETED"));
+        trend.setCancelledBookings(totals.getCount("CANCELLED"));
+        trend.setRevenue(totals.getCompletedRevenue().toBigDecimal());
+        return trend;
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new BusinessRuleViolationException("Long-range analytics are not enabled");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.event.PgNotifyBus;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Invalidates in-process caches on every node. Caches register an evictor under a name;
+ * {@link #invalidate} evicts the key locally once the current transaction commits and
+ * broadcasts it to the other nodes through {@link PgNotifyBus}.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    public static final String CHANNEL = "cache_invalidation";
+    /** Key meaning "drop everything in this cache". */
+    public static final String ALL_KEYS = "*";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PgNotifyBus pgNotifyBus;
+
+    @PostConstruct
+    public void init() {
+        pgNotifyBus.subscribe(CHANNEL, this::onMessage);
+        // Invalidations may have been missed while disconnected
+        pgNotifyBus.onReconnect(() -> evictors.values().forEach(evictor -> evictor.accept(ALL_KEYS)));
+    }
+
+    /**
+     * Registers the evictor of a cache. It receives either a single key or {@link #ALL_KEYS}.
+     */
+    public void register(String cacheName, Consumer<String> evictor) {
+        if (cacheName.indexOf(':') >= 0) {
+            throw new IllegalArgumentException("Cache name must not contain ':'");
+        }
+        evictors.put(cacheName, evictor);
+    }
+
+    /**
+     * Evicts a key from the named cache on all nodes after the current transaction commits
+     * (immediately when there is no transaction).
+     */
+    public void invalidate(String cacheName, String key) {
+        // pg_notify is transactional too, so other nodes are only told about committed changes
+        pgNotifyBus.publish(CHANNEL, cacheName + ":" + key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocally(cacheName, key);
+                }
+            });
+        } else {
+            evictLocally(cacheName, key);
+        }
+    }
+
+    public void invalidateAll(String cacheName) {
+        invalidate(cacheName, ALL_KEYS);
+    }
+
+    private void onMessage(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0) {
+            logger.warn("Ignoring malformed cache invalidation: {}", message);
+            return;
+        }
+        evictLocally(message.substring(0, separator), message.substring(separator + 1));
+    }
+
+    private void evictLocally(String cacheName, String key) {
+        Consumer<String> evictor = evictors.get(cacheName);
+        if (evictor != null) {
+            evictor.accept(key);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.constants.AppConstants;
+import com.beautyparlour.dto.response.CatalogImportResult;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.repository.CatalogJdbcRepository;
+import com.beautyparlour.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of categories, services and courses from CSV or JSON.
+ * <p>
+ * The upload is parsed one record at a time and inserted in JDBC batches. Category names are
+ * resolved through an in-memory map (categories referenced by a service are created on demand),
+ * and rows whose name already exists for the parlour are skipped, so re-uploading a file is safe.
+ * Invalid rows are reported by line and do not stop the import.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 500;
+    private static final Pattern NAME_PATTERN = Pattern.compile(AppConstants.Validation.NAME_PATTERN);
+    private static final Pattern URL_PATTERN = Pattern.compile(AppConstants.Validation.URL_PATTERN);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(AppConstants.Business.MAX_SERVICE_PRICE);
+
+    @Autowired
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantCacheEvictor tenantCacheEvictor;
+
+    @Transactional
+    public CatalogImportResult importCatalog(MultipartFile file, UUID parlourId) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessRuleViolationException("Import file is empty");
+        }
+
+        ImportContext context = new ImportContext(parlourId);
+        try (InputStream in = file.getInputStream()) {
+            if (isJson(file)) {
+                readJson(in, context);
+            } else {
+                readCsv(in, context);
+            }
+        } catch (IOException e) {
+            throw new BusinessRuleViolationException("Could not read import file: " + e.getMessage(), e);
+        }
+        context.flush();
+        // Rows were inserted with plain JDBC, which Hibernate does not see
+        tenantCacheEvictor.evictCatalogListings(parlourId);
+
+        CatalogImportResult result = context.result;
+        logger.info("Catalog import for parlour {}: {} categories, {} services, {} courses created, {} skipped, {} errors",
+                parlourId, result.getCategoriesCreated(), result.getServicesCreated(), result.getCoursesCreated(),
+                result.getSkippedExisting(), result.getErrorCount());
+        return result;
+    }
+
+    private boolean isJson(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".json"))
+                || (contentType != null && contentType.contains("json"));
+    }
+
+    // CSV with a header row: type,category,name,price,image_url,description
+    private void readCsv(InputStream in, ImportContext context) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = CsvUtils.readRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace('-', '_'), i);
+        }
+        if (!columns.containsKey("type") || !columns.containsKey("name")) {
+            throw new BusinessRuleViolationException("CSV header must contain at least 'type' and 'name' columns");
+        }
+
+        long line = 1;
+        List<String> record;
+        while ((record = CsvUtils.readRecord(reader)) != null) {
+            line++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            ImportRow row = new ImportRow(line);
+            row.type = column(record, columns, "type");
+            row.category = column(record, columns, "category");
+            row.name = column(record, columns, "name");
+            row.price = column(record, columns, "price");
+            row.imageUrl = column(record, columns, "image_url");
+            row.description = column(record, columns, "description");
+            context.process(row);
+        }
+    }
+
+    // JSON array of objects with the same fields as the CSV columns
+    private void readJson(InputStream in, ImportContext context) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BusinessRuleViolationException("JSON import must be an array of objects");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                ImportRow row = new ImportRow(parser.getTokenLocation().getLineNr());
+                JsonNode node = parser.readValueAsTree();
+                row.type = text(node, "type");
+                row.category = text(node, "category");
+                row.name = text(node, "name");
+                row.price = text(node, "price");
+                row.imageUrl = text(node, node.has("imageUrl") ? "imageUrl" : "image_url");
+                row.description = text(node, "description");
+                context.process(row);
+            }
+        }
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static class ImportRow {
+        private final long line;
+        private String type;
+        private String category;
+        private String name;
+        private String price;
+        private String imageUrl;
+        private String description;
+
+        ImportRow(long line) {
+            this.line = line;
+        }
+    }
+
+    private class ImportContext {
+        private final UUID parlourId;
+        private final CatalogImportResult result = new CatalogImportResult();
+        private final Map<String, UUID> categoryIds;
+        private final Set<String> serviceKeys;
+        private final Set<String> courseNames;
+        private final List<Object[]> pendingCategories = new ArrayList<>();
+        private final List<Object[]> pendingServices = new ArrayList<>();
+        private final List<Object[]> pendingCourses = new ArrayList<>();
+
+        ImportContext(UUID parlourId) {
+            this.parlourId = parlourId;
+            this.categoryIds = catalogJdbcRepository.findCategoryIdsByName(parlourId);
+            this.serviceKeys = catalogJdbcRepository.findServiceKeys(parlourId);
+            this.courseNames = catalogJdbcRepository.findCourseNames(parlourId);
+        }
+
+        void process(ImportRow row) {
+            try {
+                String type = row.type == null ? "" : row.type.toLowerCase(Locale.ROOT);
+                switch (type) {
+                    case "category" -> importCategory(row);
+                    case "service" -> importService(row);
+                    case "course" -> importCourse(row);
+                    default -> throw new IllegalArgumentException("Type must be one of category, service, course");
+                }
+            } catch (IllegalArgumentException e) {
+                result.setErrorCount(result.getErrorCount() + 1);
+                if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                    result.getErrors().add(new CatalogImportResult.LineError(row.line, e.getMessage()));
+                }
+            }
+            if (pendingCategories.size() + pendingServices.size() + pendingCourses.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void importCategory(ImportRow row) {
+            String name = requireName(row.name, "Category");
+            if (categoryIds.containsKey(key(name))) {
+                result.setSkippedExisting(result.getSkippedExisting() + 1);
+                return;
+            }
+            createCategory(name);
+        }
+
+        private void importService(ImportRow row) {
+            String name = requireName(row.name, "Service");
+            if (!NAME_PATTERN.matcher(name).matches()) {
+                throw new IllegalArgumentException("Service name must be 2-100 characters and contain only letters, numbers, spaces, dots, and hyphens");
+            }
+            String categoryName = requireName(row.category, "Category");
+            BigDecimal price = requirePrice(row.price);
+            String imageUrl = checkImageUrl(row.imageUrl);
+
+            UUID categoryId = categoryIds.get(key(categoryName));
+            if (categoryId == null) {
+                categoryId = createCategory(categoryName);
+            }
+            if (!serviceKeys.add(categoryId + "|" + key(name))) {
+                result.setSkippedExisting(result.getSkippedExisting() + 1);
+                return;
+            }
+            pendingServices.add(CatalogJdbcRepository.serviceRow(
+                    UUID.randomUUID(), parlourId, categoryId, name, imageUrl, price));
+            result.setServicesCreated(result.getServicesCreated() + 1);
+        }
+
+        private void importCourse(ImportRow row) {
+            String name = requireName(row.name, "Course");
+            BigDecimal price = requirePrice(row.price);
+            String imageUrl = checkImageUrl(row.imageUrl);
+            if (row.description != null && row.description.length() > AppConstants.Validation.MAX_DESCRIPTION_LENGTH) {
+                throw new IllegalArgumentException("Description cannot exceed "
+                        + AppConstants.Validation.MAX_DESCRIPTION_LENGTH + " characters");
+            }
+            if (!courseNames.add(key(name))) {
+                result.setSkippedExisting(result.getSkippedExisting() + 1);
+                return;
+            }
+            pendingCourses.add(CatalogJdbcRepository.courseRow(
+                    UUID.randomUUID(), parlourId, name, imageUrl, row.description, price));
+            result.setCoursesCreated(result.getCoursesCreated() + 1);
+        }
+
+        private UUID createCategory(String name) {
+            UUID id = UUID.randomUUID();
+            categoryIds.put(key(name), id);
+            pendingCategories.add(CatalogJdbcRepository.categoryRow(id, parlourId, name));
+            result.setCategoriesCreated(result.getCategoriesCreated() + 1);
+            return id;
+        }
+
+        // Categories go first so services in the same batch can reference them
+        void flush() {
+            if (!pendingCategories.isEmpty()) {
+                catalogJdbcRepository.insertCategories(pendingCategories);
+                pendingCategories.clear();
+            }
+            if (!pendingServices.isEmpty()) {
+                catalogJdbcRepository.insertServices(pendingServices);
+                pendingServices.clear();
+            }
+            if (!pendingCourses.isEmpty()) {
+                catalogJdbcRepository.insertCourses(pendingCourses);
+                pendingCourses.clear();
+            }
+        }
+
+        private String requireName(String value, String label) {
+            if (value == null) {
+                throw new IllegalArgumentException(label + " name is required");
+            }
+            if (value.length() < AppConstants.Validation.MIN_NAME_LENGTH
+                    || value.length() > AppConstants.Validation.MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException(label + " name must be between "
+                        + AppConstants.Validation.MIN_NAME_LENGTH + " and "
+                        + AppConstants.Validation.MAX_NAME_LENGTH + " characters");
+            }
+            return value;
+        }
+
+        private BigDecimal requirePrice(String value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Price is required");
+            }
+            BigDecimal price;
+            try {
+                price = new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Price must be a number");
+            }
+            if (price.signum() <= 0 || price.compareTo(MAX_PRICE) > 0) {
+                throw new IllegalArgumentException("Price must be positive and at most " + MAX_PRICE);
+            }
+            return price;
+        }
+
+        private String checkImageUrl(String value) {
+            if (value != null && !URL_PATTERN.matcher(value).matches()) {
+                throw new IllegalArgumentException("Image URL must be a valid URL or empty");
+            }
+            return value;
+        }
+
+        private String key(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
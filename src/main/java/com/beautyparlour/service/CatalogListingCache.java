@@ -0,0 +1,151 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.constants.AppConstants;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-parlour catalog listings (categories, services, courses), cached as the ordered entity ids
+ * under the parlour id in their own JCache regions. The entities themselves come from the
+ * second-level cache, so a hit costs no query.
+ * <p>
+ * Unlike the Hibernate query cache, which drops every tenant's listings on any write to the table,
+ * a write only evicts the listing of its own parlour; see {@link TenantCacheEvictor}.
+ */
+@Service
+public class CatalogListingCache {
+
+    private static final List<String> REGIONS = List.of(
+            AppConstants.CacheRegions.CATEGORY_LISTINGS,
+            AppConstants.CacheRegions.SERVICE_LISTINGS,
+            AppConstants.CacheRegions.COURSE_LISTINGS);
+
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PostConstruct
+    public void init() {
+        // Same provider as the second-level cache, so region sizes come from application.conf
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String name : REGIONS) {
+            Cache<UUID, List<UUID>> cache = cacheManager.getCache(name);
+            if (cache == null) {
+                cache = cacheManager.createCache(name, new MutableConfiguration<UUID, List<UUID>>());
+            }
+            regions.put(name, new Region(cache));
+        }
+    }
+
+    /**
+     * The listing of a parlour, loaded and cached on a miss.
+     * @param loader reads the listing from the database
+     */
+    public <T> List<T> get(String regionName, UUID parlourId, Class<T> type,
+                           Supplier<List<T>> loader, Function<T, UUID> idOf) {
+        if (parlourId == null) {
+            // JCache rejects null keys, and a listing always belongs to one parlour
+            throw new IllegalArgumentException("A catalog listing needs a parlour id");
+        }
+        Region region = region(regionName);
+        List<UUID> ids = region.cache.get(parlourId);
+        if (ids != null) {
+            List<T> entities = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                T entity = entityManager.find(type, id);
+                if (entity == null) {
+                    // Deleted after the listing was cached and the eviction is still on its way
+                    region.cache.remove(parlourId);
+                    return load(region, parlourId, loader, idOf);
+                }
+                entities.add(entity);
+            }
+            region.hits.increment();
+            return entities;
+        }
+        return load(region, parlourId, loader, idOf);
+    }
+
+    /**
+     * Drops one parlour's listing, or the whole region for {@link CacheInvalidationBus#ALL_KEYS}.
+     */
+    public void evict(String regionName, String key) {
+        Region region = region(regionName);
+        // Bumped before removing, so a load that read the database before this write is not cached
+        region.generation.incrementAndGet();
+        if (CacheInvalidationBus.ALL_KEYS.equals(key)) {
+            region.cache.removeAll();
+        } else {
+            region.cache.remove(UUID.fromString(key));
+        }
+    }
+
+    public Map<String, Map<String, Object>> statistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (String name : REGIONS) {
+            Region region = regions.get(name);
+            Map<String, Object> counters = new LinkedHashMap<>();
+            long hits = region.hits.sum();
+            long misses = region.misses.sum();
+            counters.put("hits", hits);
+            counters.put("misses", misses);
+            counters.put("puts", region.puts.sum());
+            long lookups = hits + misses;
+            counters.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+            statistics.put(name, counters);
+        }
+        return statistics;
+    }
+
+    private <T> List<T> load(Region region, UUID parlourId, Supplier<List<T>> loader, Function<T, UUID> idOf) {
+        region.misses.increment();
+        long generation = region.generation.get();
+        List<T> entities = loader.get();
+        region.cache.put(parlourId, entities.stream().map(idOf).toList());
+        region.puts.increment();
+        if (region.generation.get() != generation) {
+            // A write was evicted while loading; the result may predate it
+            region.cache.remove(parlourId);
+        }
+        return entities;
+    }
+
+    private Region region(String name) {
+        Region region = regions.get(name);
+        if (region == null) {
+            throw new IllegalArgumentException("Unknown listing region: " + name);
+        }
+        return region;
+    }
+
+    private static final class Region {
+        private final Cache<UUID, List<UUID>> cache;
+        private final AtomicLong generation = new AtomicLong();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+
+        private Region(Cache<UUID, List<UUID>> cache) {
+            this.cache = cache;
+        }
+    }
+}
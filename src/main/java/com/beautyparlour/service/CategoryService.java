@@ -1,11 +1,13 @@
 package com.beautyparlour.service;
 
+import com.beautyparlour.constants.AppConstants;
 import com.beautyparlour.dto.request.CreateCategoryRequest;
 import com.beautyparlour.entity.Category;
 import com.beautyparlour.exception.ResourceNotFoundException;
 import com.beautyparlour.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,22 +18,30 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TenantCacheEvictor tenantCacheEvictor;
+
+    @Autowired
+    private CatalogListingCache catalogListingCache;
+
     public Category createCategory(CreateCategoryRequest request, UUID parlourId) {
         Category category = new Category(parlourId, request.getName());
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        tenantCacheEvictor.entityChanged(AppConstants.CacheRegions.CATEGORIES, saved.getId(), parlourId);
+        return saved;
     }
 
     public List<Category> getCategoriesByParlour(UUID parlourId) {
-        return categoryRepository.findByParlourId(parlourId);
-    }
-
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return catalogListingCache.get(AppConstants.CacheRegions.CATEGORY_LISTINGS, parlourId, Category.class,
+                () -> categoryRepository.findByParlourId(parlourId), Category::getId);
     }
 
+    @Transactional
     public void deleteCategory(UUID categoryId, UUID parlourId) {
         Category category = categoryRepository.findByIdAndParlourId(categoryId, parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        // Services of the category are removed by the database cascade
+        tenantCacheEvictor.evictCategory(categoryId, parlourId);
         categoryRepository.delete(category);
     }
 }
@@ -1,9 +1,12 @@
 package com.beautyparlour.service;
 
+import com.beautyparlour.constants.AppConstants;
 import com.beautyparlour.dto.request.CreateCourseRequest;
+import com.beautyparlour.dto.response.CursorPagedResponse;
 import com.beautyparlour.entity.Course;
 import com.beautyparlour.exception.ResourceNotFoundException;
 import com.beautyparlour.repository.CourseRepository;
+import com.beautyparlour.util.CursorUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +19,12 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private TenantCacheEvictor tenantCacheEvictor;
+
+    @Autowired
+    private CatalogListingCache catalogListingCache;
+
     public Course createCourse(CreateCourseRequest request, UUID parlourId) {
         Course course = new Course(
                 parlourId,
@@ -24,20 +33,45 @@ public class CourseService {
                 request.getDescription(),
                 request.getPrice()
         );
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        tenantCacheEvictor.entityChanged(AppConstants.CacheRegions.COURSES, saved.getId(), parlourId);
+        return saved;
     }
 
     public List<Course> getCoursesByParlour(UUID parlourId) {
-        return courseRepository.findByParlourId(parlourId);
+        return catalogListingCache.get(AppConstants.CacheRegions.COURSE_LISTINGS, parlourId, Course.class,
+                () -> courseRepository.findByParlourId(parlourId), Course::getId);
     }
 
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    /**
+     * One page of the cross-tenant marketplace browse, ordered by name.
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     */
+    public CursorPagedResponse<Course> browseCourses(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), AppConstants.Pagination.MAX_PAGE_SIZE);
+        // One extra row tells whether another page follows
+        List<Course> courses;
+        if (cursor == null || cursor.isBlank()) {
+            courses = courseRepository.browseFirstPage(pageSize + 1);
+        } else {
+            CursorUtils.NameIdCursor after = CursorUtils.decode(cursor);
+            courses = courseRepository.browseAfter(after.name(), after.id(), pageSize + 1);
+        }
+
+        boolean hasNext = courses.size() > pageSize;
+        List<Course> page = List.copyOf(courses.subList(0, Math.min(courses.size(), pageSize)));
+        String nextCursor = null;
+        if (hasNext) {
+            Course last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getName(), last.getId());
+        }
+        return new CursorPagedResponse<>(page, pageSize, nextCursor);
     }
 
     public void deleteCourse(UUID courseId, UUID parlourId) {
         Course course = courseRepository.findByIdAndParlourId(courseId, parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
         courseRepository.delete(course);
+        tenantCacheEvictor.entityChanged(AppConstants.CacheRegions.COURSES, courseId, parlourId);
     }
 }
@@ -0,0 +1,165 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.dto.response.AnalyticsDTO;
+import com.beautyparlour.entity.Parlour;
+import com.beautyparlour.event.BookingCreatedEvent;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.repository.AnalyticsJdbcRepository;
+import com.beautyparlour.repository.CustomerSketchJdbcRepository;
+import com.beautyparlour.repository.ParlourRepository;
+import com.beautyparlour.util.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Customer figures (distinct phone numbers) of a parlour over a date range.
+ * <p>
+ * EXACT counts the distinct customers of the live and archived bookings in the range and takes
+ * their first booking from the customers table. APPROXIMATE merges the daily HyperLogLog sketches
+ * kept up to date on each new booking, which reads at most one small row per day regardless of
+ * booking volume; estimates are within a few percent.
+ */
+@Service
+public class CustomerAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerAnalyticsService.class);
+
+    public enum Mode {
+        EXACT, APPROXIMATE;
+
+        public static Mode from(String value) {
+            try {
+                return Mode.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported analytics mode: " + value);
+            }
+        }
+    }
+
+    @Autowired
+    private AnalyticsJdbcRepository analyticsJdbcRepository;
+
+    @Autowired
+    private CustomerSketchJdbcRepository customerSketchJdbcRepository;
+
+    @Autowired
+    private ParlourRepository parlourRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // After commit, so rolled-back bookings are not counted and the sketch row lock is not held for
+    // the booking transaction; the write needs its own transaction at that point
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        long hash = HyperLogLog.hash(event.getClientPhone());
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status -> customerSketchJdbcRepository.offer(event.getParlourId(),
+                    LocalDate.now(), HyperLogLog.registerIndex(hash), HyperLogLog.registerValue(hash)));
+        } catch (Exception e) {
+            // The booking itself is already committed; a rebuild restores the sketch
+            logger.warn("Could not update customer sketch for booking {}", event.getBookingId(), e);
+        }
+    }
+
+    /**
+     * Customer figures for bookings created between {@code from} and {@code to}, both inclusive.
+     * A customer is new when their first booking ever falls in the range and repeat otherwise.
+     */
+    public AnalyticsDTO getCustomerAnalytics(UUID parlourId, LocalDate from, LocalDate to, Mode mode) {
+        if (to.isBefore(from)) {
+            throw new BusinessRuleViolationException("The end date must not be before the start date");
+        }
+        LocalDate end = to.plusDays(1);
+
+        long totalCustomers;
+        long newCustomers;
+        long bookings;
+        if (mode == Mode.EXACT) {
+            AnalyticsJdbcRepository.CustomerStats stats = analyticsJdbcRepository.getCustomerStats(
+                    parlourId, from.atStartOfDay(), end.atStartOfDay());
+            totalCustomers = stats.getTotalCustomers();
+            newCustomers = stats.getNewCustomers();
+            bookings = stats.getBookings();
+        } else {
+            CustomerSketchJdbcRepository.SketchRange range = customerSketchJdbcRepository.loadRange(parlourId, from, end);
+            long before = range.getBefore().estimate();
+            totalCustomers = range.getWithin().estimate();
+            range.getBefore().merge(range.getWithin());
+            // new = |before + within| - |before|; clamp estimation noise into [0, total]
+            newCustomers = Math.min(totalCustomers, Math.max(0, range.getBefore().estimate() - before));
+            bookings = range.getBookingsWithin();
+        }
+
+        AnalyticsDTO analytics = new AnalyticsDTO();
+        analytics.setParlourId(parlourId);
+        analytics.setPeriodStart(from.atStartOfDay());
+        analytics.setPeriodEnd(end.atStartOfDay());
+        analytics.setTotalCustomers(totalCustomers);
+        analytics.setNewCustomers(newCustomers);
+        analytics.setRepeatCustomers(totalCustomers - newCustomers);
+        analytics.setAverageBookingsPerCustomer(totalCustomers == 0 ? 0.0 : (double) bookings / totalCustomers);
+        return analytics;
+    }
+
+    /**
+     * Rebuilds the sketches of every parlour from live and archived bookings,
+     * e.g. after the V7 migration or when sketch updates failed.
+     * @return number of parlours rebuilt
+     */
+    public int rebuildAllSketches() {
+        int rebuilt = 0;
+        for (UUID parlourId : parlourRepository.findAll().stream().map(Parlour::getParlourId).toList()) {
+            rebuildSketches(parlourId);
+            rebuilt++;
+        }
+        return rebuilt;
+    }
+
+    public void rebuildSketches(UUID parlourId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            DaySketch current = new DaySketch();
+            customerSketchJdbcRepository.forEachBookingPhone(parlourId, (day, phone) -> {
+                if (!day.equals(current.day)) {
+                    current.flush(parlourId);
+                    current.start(day);
+                }
+                current.sketch.offer(phone);
+                current.bookings++;
+            });
+            current.flush(parlourId);
+        });
+        logger.info("Rebuilt customer sketches for parlour {}", parlourId);
+    }
+
+    private class DaySketch {
+        private LocalDate day;
+        private HyperLogLog sketch;
+        private long bookings;
+
+        void start(LocalDate day) {
+            this.day = day;
+            this.sketch = new HyperLogLog();
+            this.bookings = 0;
+        }
+
+        void flush(UUID parlourId) {
+            if (day != null) {
+                customerSketchJdbcRepository.mergeDay(parlourId, day, sketch, bookings);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.entity.Parlour;
+import com.beautyparlour.repository.ParlourRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Creates the customers of bookings made before the customers table existed and links those
+ * bookings to them. Customers are created one parlour per statement, then bookings are linked in
+ * small batches that each commit on their own. Safe to run again; new bookings link themselves.
+ */
+@Service
+public class CustomerBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerBackfillService.class);
+
+    // The most recent name of a phone number becomes the customer name
+    private static final String CREATE_CUSTOMERS_SQL =
+            "INSERT INTO customers (parlour_id, phone, name, first_booking_at, last_booking_at) " +
+            "SELECT parlour_id, phone, (array_agg(client_name ORDER BY created_at DESC))[1], " +
+            "MIN(created_at), MAX(created_at) FROM (" +
+            "  SELECT parlour_id, phone, client_name, created_at FROM service_bookings WHERE parlour_id = ?" +
+            "  UNION ALL SELECT parlour_id, phone, client_name, created_at FROM course_bookings WHERE parlour_id = ?" +
+            "  UNION ALL SELECT parlour_id, phone, client_name, created_at FROM service_bookings_archive WHERE parlour_id = ?" +
+            "  UNION ALL SELECT parlour_id, phone, client_name, created_at FROM course_bookings_archive WHERE parlour_id = ?" +
+            ") b GROUP BY parlour_id, phone " +
+            "ON CONFLICT (parlour_id, phone) DO UPDATE SET " +
+            "first_booking_at = LEAST(customers.first_booking_at, EXCLUDED.first_booking_at), " +
+            "last_booking_at = GREATEST(customers.last_booking_at, EXCLUDED.last_booking_at)";
+
+    // Unlinked rows are found through the (customer_id, ...) indexes, which include NULLs
+    private static final String LINK_SERVICE_BOOKINGS_SQL =
+            "UPDATE service_bookings b SET customer_id = c.id FROM customers c " +
+            "WHERE c.parlour_id = b.parlour_id AND c.phone = b.phone AND (b.id, b.created_at) IN (" +
+            "  SELECT id, created_at FROM service_bookings WHERE customer_id IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String LINK_COURSE_BOOKINGS_SQL =
+            "UPDATE course_bookings b SET customer_id = c.id FROM customers c " +
+            "WHERE c.parlour_id = b.parlour_id AND c.phone = b.phone AND (b.id, b.created_at) IN (" +
+            "  SELECT id, created_at FROM course_bookings WHERE customer_id IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String LINK_SERVICE_BOOKINGS_ARCHIVE_SQL =
+            "UPDATE service_bookings_archive b SET customer_id = c.id FROM customers c " +
+            "WHERE c.parlour_id = b.parlour_id AND c.phone = b.phone AND b.id IN (" +
+            "  SELECT id FROM service_bookings_archive WHERE customer_id IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String LINK_COURSE_BOOKINGS_ARCHIVE_SQL =
+            "UPDATE course_bookings_archive b SET customer_id = c.id FROM customers c " +
+            "WHERE c.parlour_id = b.parlour_id AND c.phone = b.phone AND b.id IN (" +
+            "  SELECT id FROM course_bookings_archive WHERE customer_id IS NULL" +
+            "  LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ParlourRepository parlourRepository;
+
+    @Value("${customers.backfill.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * @return number of customers written, then number of bookings linked per table
+     */
+    public Map<String, Integer> backfill() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        result.put("customers", createCustomers());
+        result.put("service_bookings", linkInBatches("service_bookings", LINK_SERVICE_BOOKINGS_SQL));
+        result.put("course_bookings", linkInBatches("course_bookings", LINK_COURSE_BOOKINGS_SQL));
+        result.put("service_bookings_archive", linkInBatches("service_bookings_archive", LINK_SERVICE_BOOKINGS_ARCHIVE_SQL));
+        result.put("course_bookings_archive", linkInBatches("course_bookings_archive", LINK_COURSE_BOOKINGS_ARCHIVE_SQL));
+        logger.info("Customer backfill finished: {}", result);
+        return result;
+    }
+
+    private int createCustomers() {
+        int total = 0;
+        for (UUID parlourId : parlourRepository.findAll().stream().map(Parlour::getParlourId).toList()) {
+            try {
+                total += jdbcTemplate.update(CREATE_CUSTOMERS_SQL, parlourId, parlourId, parlourId, parlourId);
+            } catch (Exception e) {
+                // Its bookings stay unlinked and are picked up by the next run
+                logger.error("Creating customers of parlour {} failed", parlourId, e);
+            }
+        }
+        return total;
+    }
+
+    private int linkInBatches(String table, String sql) {
+        int total = 0;
+        try {
+            while (true) {
+                // Each statement commits on its own, keeping row locks short
+                int updated = jdbcTemplate.update(sql, batchSize);
+                total += updated;
+                if (updated < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Customer backfill of {} stopped after {} rows", table, total, e);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,126 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.dto.response.BookingAnalyticsDTO;
+import com.beautyparlour.dto.response.DashboardAnalyticsDTO;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.repository.AnalyticsJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admin dashboard figures behind a short stale-while-revalidate cache.
+ * <p>
+ * A snapshot younger than the fresh period is served as-is. An older one is still served
+ * while it is within the stale period, and a single background refresh replaces it.
+ * Beyond that the caller loads synchronously; concurrent loads of one parlour are coalesced.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private record Snapshot(DashboardAnalyticsDTO dashboard, long loadedAtMillis) {}
+
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private AnalyticsJdbcRepository analyticsJdbcRepository;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private PopularServicesTracker popularServicesTracker;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${dashboard.cache.fresh-seconds:30}")
+    private long freshSeconds;
+
+    @Value("${dashboard.cache.max-stale-seconds:300}")
+    private long maxStaleSeconds;
+
+    public DashboardAnalyticsDTO getDashboard(UUID parlourId) {
+        Snapshot snapshot = snapshots.get(parlourId);
+        if (snapshot != null) {
+            long ageMillis = System.currentTimeMillis() - snapshot.loadedAtMillis();
+            if (ageMillis < freshSeconds * 1000) {
+                return snapshot.dashboard();
+            }
+            if (ageMillis < maxStaleSeconds * 1000) {
+                refreshInBackground(parlourId);
+                return snapshot.dashboard();
+            }
+        }
+        return requestCoalescer.execute("dashboard", parlourId, () -> load(parlourId));
+    }
+
+    /**
+     * Booking counts and revenue for bookings created between {@code from} and {@code to}, both inclusive.
+     * Not cached; the query reads only the covering revenue indexes of the booking tables.
+     */
+    public BookingAnalyticsDTO getBookingAnalytics(UUID parlourId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessRuleViolationException("The end date must not be before the start date");
+        }
+        return analyticsJdbcRepository.getBookingStats(parlourId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    private void refreshInBackground(UUID parlourId) {
+        if (!refreshing.add(parlourId)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    load(parlourId);
+                } catch (Exception e) {
+                    // The stale snapshot keeps being served until it expires
+                    logger.warn("Dashboard refresh failed for parlour {}", parlourId, e);
+                } finally {
+                    refreshing.remove(parlourId);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(parlourId);
+            logger.warn("Dashboard refresh could not be scheduled for parlour {}", parlourId, e);
+        }
+    }
+
+    private DashboardAnalyticsDTO load(UUID parlourId) {
+        YearMonth month = YearMonth.now();
+        DashboardAnalyticsDTO dashboard = analyticsJdbcRepository.getDashboard(
+                parlourId, month.atDay(1).atStartOfDay(), month.minusMonths(1).atDay(1).atStartOfDay());
+        popularServicesTracker.getPopularServices(parlourId, null, 1).forEach((name, bookings) -> {
+            dashboard.setMostPopularService(name);
+            dashboard.setMostPopularServiceBookings(bookings);
+        });
+        dashboard.setReportDate(LocalDate.now());
+        dashboard.setBookingGrowthPercentage(growthPercentage(
+                dashboard.getBookingsThisMonth(), dashboard.getBookingsLastMonth()));
+        snapshots.put(parlourId, new Snapshot(dashboard, System.currentTimeMillis()));
+        return dashboard;
+    }
+
+    private double growthPercentage(long current, long previous) {
+        if (previous == 0) {
+            return current > 0 ? 100.0 : 0.0;
+        }
+        return (current - previous) * 100.0 / previous;
+    }
+}
@@ -0,0 +1,100 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.entity.Parlour;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.exception.ResourceNotFoundException;
+import com.beautyparlour.repository.ParlourRepository;
+import com.beautyparlour.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@code parlour} parameter of anonymous catalog requests, which may be either a
+ * parlour id or its slug. Slugs are mapped to ids in memory; ids are checked through the
+ * second-level cache, so neither form costs a database round trip once warm.
+ */
+@Service
+public class ParlourSlugResolver {
+
+    public static final String CACHE_NAME = "parlour-slugs";
+
+    private final Map<String, UUID> idsBySlug = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ParlourRepository parlourRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @PostConstruct
+    public void init() {
+        cacheInvalidationBus.register(CACHE_NAME, slug -> {
+            if (CacheInvalidationBus.ALL_KEYS.equals(slug)) {
+                idsBySlug.clear();
+            } else {
+                idsBySlug.remove(slug);
+            }
+        });
+    }
+
+    /**
+     * Parlour whose catalog a listing request reads: parlour admins always see their own parlour;
+     * anonymous callers and the super admin, who belongs to no parlour, must name one by id or slug.
+     */
+    public UUID resolveCatalogParlour(UserPrincipal currentUser, String parlour) {
+        if (currentUser != null && currentUser.getParlourId() != null) {
+            return currentUser.getParlourId();
+        }
+        if (parlour == null || parlour.isBlank()) {
+            throw new BusinessRuleViolationException("The parlour parameter is required");
+        }
+        return resolve(parlour);
+    }
+
+    /**
+     * @param parlour a parlour id or slug
+     * @return the parlour id
+     * @throws ResourceNotFoundException if no parlour matches
+     */
+    public UUID resolve(String parlour) {
+        UUID id = parseUuid(parlour);
+        if (id != null) {
+            if (!parlourRepository.findById(id).isPresent()) {
+                throw new ResourceNotFoundException("Parlour not found");
+            }
+            return id;
+        }
+        UUID cached = idsBySlug.get(parlour);
+        if (cached != null) {
+            return cached;
+        }
+        // Misses are not cached, so unknown slugs cannot grow the map
+        UUID resolved = parlourRepository.findBySlug(parlour)
+                .map(Parlour::getParlourId)
+                .orElseThrow(() -> new ResourceNotFoundException("Parlour not found"));
+        idsBySlug.put(parlour, resolved);
+        return resolved;
+    }
+
+    /**
+     * Forgets a slug on all nodes after the current transaction commits; call when a parlour is deleted.
+     */
+    public void evict(String slug) {
+        if (slug != null) {
+            cacheInvalidationBus.invalidate(CACHE_NAME, slug);
+        }
+    }
+
+    private UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.dto.response.PayrollRunResult;
+import com.beautyparlour.repository.PayrollJdbcRepository;
+import com.beautyparlour.repository.StaffAdvanceBalanceJdbcRepository;
+import com.beautyparlour.util.Money;
+import com.beautyparlour.util.UuidV7Generator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Monthly payroll for all staff of a parlour, or of every parlour on the platform.
+ * Each parlour is paid in its own transaction: one query reads the staff, one statement settles
+ * their outstanding advances and the salary log rows are batch-inserted. Staff already paid this month are skipped, so a run
+ * can safely be repeated after a partial failure.
+ */
+@Service
+public class PayrollService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollService.class);
+
+    @Autowired
+    private PayrollJdbcRepository payrollJdbcRepository;
+
+    @Autowired
+    private StaffAdvanceBalanceJdbcRepository staffAdvanceBalanceJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("payrollExecutor")
+    private ThreadPoolTaskExecutor payrollExecutor;
+
+    public PayrollRunResult runPayroll(UUID parlourId) {
+        YearMonth month = YearMonth.now();
+        PayrollRunResult result = new PayrollRunResult(month.toString());
+        ParlourPayroll payroll = payParlour(parlourId, month);
+        result.addParlour(payroll.paid, payroll.alreadyPaid, payroll.total.toBigDecimal());
+        return result;
+    }
+
+    public PayrollRunResult runPayrollForAllParlours() {
+        YearMonth month = YearMonth.now();
+        List<UUID> parlourIds = payrollJdbcRepository.findParlourIdsWithStaff();
+
+        Map<UUID, CompletableFuture<ParlourPayroll>> runs = new LinkedHashMap<>();
+        for (UUID parlourId : parlourIds) {
+            runs.put(parlourId, CompletableFuture.supplyAsync(() -> payParlour(parlourId, month), payrollExecutor));
+        }
+
+        PayrollRunResult result = new PayrollRunResult(month.toString());
+        for (Map.Entry<UUID, CompletableFuture<ParlourPayroll>> run : runs.entrySet()) {
+            try {
+                ParlourPayroll payroll = run.getValue().join();
+                result.addParlour(payroll.paid, payroll.alreadyPaid, payroll.total.toBigDecimal());
+            } catch (Exception e) {
+                // One tenant failing must not block everyone else's payroll; it can be re-run
+                logger.error("Payroll failed for parlour {}", run.getKey(), e);
+                result.getFailedParlourIds().add(run.getKey());
+            }
+        }
+        logger.info("Payroll run for {}: {} parlours, {} staff paid, {} failed",
+                month, result.getParloursProcessed(), result.getStaffPaid(), result.getFailedParlourIds().size());
+        return result;
+    }
+
+    private ParlourPayroll payParlour(UUID parlourId, YearMonth month) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            payrollJdbcRepository.lockParlourPayroll(parlourId);
+
+            LocalDateTime periodStart = month.atDay(1).atStartOfDay();
+            LocalDateTime periodEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+            List<PayrollJdbcRepository.StaffPayrollRow> staff =
+                    payrollJdbcRepository.findPayrollRows(parlourId, periodStart, periodEnd);
+
+            ParlourPayroll payroll = new ParlourPayroll();
+            List<PayrollJdbcRepository.StaffPayrollRow> toPay = new ArrayList<>();
+            for (PayrollJdbcRepository.StaffPayrollRow row : staff) {
+                if (row.isAlreadyPaid()) {
+                    payroll.alreadyPaid++;
+                } else {
+                    toPay.add(row);
+                }
+            }
+
+            // Deduct and reset every outstanding advance in one statement
+            Map<UUID, Money> advances = staffAdvanceBalanceJdbcRepository.settleAll(
+                    toPay.stream().map(PayrollJdbcRepository.StaffPayrollRow::getStaffId).toList());
+
+            List<Object[]> rows = new ArrayList<>(toPay.size());
+            LocalDateTime paidOn = LocalDateTime.now();
+            for (PayrollJdbcRepository.StaffPayrollRow row : toPay) {
+                Money netSalary = row.getBaseSalary()
+                        .minus(advances.getOrDefault(row.getStaffId(), Money.ZERO))
+                        .max(Money.ZERO);
+                rows.add(new Object[]{UuidV7Generator.next(), row.getStaffId(), netSalary.toBigDecimal(), paidOn});
+                payroll.paid++;
+                payroll.total = payroll.total.plus(netSalary);
+            }
+            if (!rows.isEmpty()) {
+                payrollJdbcRepository.insertSalaryLogs(rows);
+            }
+            return payroll;
+        });
+    }
+
+    private static class ParlourPayroll {
+        private int paid;
+        private int alreadyPaid;
+        private Money total = Money.ZERO;
+    }
+}
@@ -0,0 +1,172 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.event.BookingCreatedEvent;
+import com.beautyparlour.repository.PopularServiceJdbcRepository;
+import com.beautyparlour.repository.ServiceRepository;
+import com.beautyparlour.util.SpaceSaving;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranks the services of each parlour by bookings without querying the booking tables.
+ * <p>
+ * Every parlour has an all-time and a per-month {@link SpaceSaving} summary in memory, updated as
+ * bookings are created. Increments are checkpointed to {@code popular_service_counters}
+ * periodically and the summaries are then reloaded, which also picks up other nodes' bookings.
+ * A bucket that was never checkpointed is seeded once from the booking tables.
+ */
+@Service
+public class PopularServicesTracker {
+
+    public static final String ALL_TIME = "all";
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularServicesTracker.class);
+
+    private record BucketKey(UUID parlourId, String bucket) {}
+
+    private static final class Bucket {
+        private SpaceSaving<UUID> summary;
+        private final Map<UUID, Long> pending = new HashMap<>();
+
+        private Bucket(SpaceSaving<UUID> summary) {
+            this.summary = summary;
+        }
+    }
+
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PopularServiceJdbcRepository popularServiceJdbcRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Value("${popular-services.capacity:100}")
+    private int capacity;
+
+    // After commit, so bookings that are rolled back are never counted
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        if (!"SERVICE".equals(event.getBookingType())) {
+            return;
+        }
+        try {
+            for (String bucket : List.of(ALL_TIME, YearMonth.now().toString())) {
+                // A bucket seeded now already finds this committed booking; it is offered below instead
+                Bucket counters = bucket(new BucketKey(event.getParlourId(), bucket), event.getBookingId());
+                synchronized (counters) {
+                    counters.summary.offer(event.getItemId());
+                    counters.pending.merge(event.getItemId(), 1L, Long::sum);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not count booking {} for popular services", event.getBookingId(), e);
+        }
+    }
+
+    /**
+     * Most booked services of a parlour with their estimated booking counts, highest first.
+     * @param month the month to rank, or null for all time
+     */
+    public Map<String, Long> getPopularServices(UUID parlourId, YearMonth month, int limit) {
+        String bucket = month != null ? month.toString() : ALL_TIME;
+        Map<UUID, Long> counts = new LinkedHashMap<>();
+        Bucket counters = bucket(new BucketKey(parlourId, bucket), null);
+        synchronized (counters) {
+            counters.summary.top(Math.min(limit, capacity))
+                    .forEach(entry -> counts.put(entry.getKey(), entry.getCount()));
+        }
+
+        // Names come from the second-level cache; deleted services drop out of the ranking
+        Map<String, Long> popular = new LinkedHashMap<>();
+        counts.forEach((serviceId, count) -> serviceRepository.findById(serviceId)
+                .ifPresent(service -> popular.merge(service.getName(), count, Long::sum)));
+        return popular;
+    }
+
+    @Scheduled(fixedDelayString = "${popular-services.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        String currentMonth = YearMonth.now().toString();
+        buckets.forEach((key, counters) -> {
+            Map<UUID, Long> increments;
+            synchronized (counters) {
+                increments = new HashMap<>(counters.pending);
+                counters.pending.clear();
+            }
+            try {
+                if (!increments.isEmpty()) {
+                    popularServiceJdbcRepository.addIncrements(key.parlourId(), key.bucket(), increments, capacity);
+                    popularServiceJdbcRepository.trim(key.parlourId(), key.bucket(), capacity);
+                }
+                if (!ALL_TIME.equals(key.bucket()) && !currentMonth.equals(key.bucket())) {
+                    // Past months no longer change; they are reloaded from the checkpoint when asked for
+                    buckets.remove(key, counters);
+                    return;
+                }
+                SpaceSaving<UUID> reloaded = loadSummary(key, null);
+                synchronized (counters) {
+                    // Bookings counted since the increments were taken are not in the checkpoint yet
+                    counters.pending.forEach(reloaded::offer);
+                    counters.summary = reloaded;
+                }
+            } catch (Exception e) {
+                synchronized (counters) {
+                    increments.forEach((serviceId, count) -> counters.pending.merge(serviceId, count, Long::sum));
+                }
+                logger.warn("Popular services checkpoint failed for parlour {} bucket {}",
+                        key.parlourId(), key.bucket(), e);
+            }
+        });
+    }
+
+    private Bucket bucket(BucketKey key, UUID excludedBookingId) {
+        Bucket counters = buckets.get(key);
+        if (counters != null) {
+            return counters;
+        }
+        // Loaded outside computeIfAbsent so the database read does not block other parlours
+        Bucket loaded = new Bucket(loadSummary(key, excludedBookingId));
+        Bucket existing = buckets.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private SpaceSaving<UUID> loadSummary(BucketKey key, UUID excludedBookingId) {
+        List<PopularServiceJdbcRepository.CounterRow> rows =
+                popularServiceJdbcRepository.findCounters(key.parlourId(), key.bucket(), capacity);
+        if (rows.isEmpty()) {
+            rows = seed(key, excludedBookingId);
+        }
+        SpaceSaving<UUID> summary = new SpaceSaving<>(capacity);
+        rows.forEach(row -> summary.restore(row.getServiceId(), row.getCount(), row.getError()));
+        return summary;
+    }
+
+    private List<PopularServiceJdbcRepository.CounterRow> seed(BucketKey key, UUID excludedBookingId) {
+        List<PopularServiceJdbcRepository.CounterRow> rows;
+        if (ALL_TIME.equals(key.bucket())) {
+            rows = popularServiceJdbcRepository.countBookings(key.parlourId(), null, null, excludedBookingId, capacity);
+        } else {
+            YearMonth month = YearMonth.parse(key.bucket());
+            rows = popularServiceJdbcRepository.countBookings(key.parlourId(),
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay(), excludedBookingId, capacity);
+        }
+        if (!rows.isEmpty()) {
+            popularServiceJdbcRepository.insertIfAbsent(key.parlourId(), key.bucket(), rows);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,353 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.dto.request.SubmitReportRequest;
+import com.beautyparlour.dto.response.ReportJobDTO;
+import com.beautyparlour.entity.CourseBooking;
+import com.beautyparlour.entity.ReportJob;
+import com.beautyparlour.entity.ServiceBooking;
+import com.beautyparlour.entity.StaffSalaryLog;
+import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.exception.ResourceNotFoundException;
+import com.beautyparlour.repository.ReportJobJdbcRepository;
+import com.beautyparlour.repository.ReportJobRepository;
+import com.beautyparlour.repository.StaffSalaryLogRepository;
+import com.beautyparlour.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs large exports and reports in the background instead of on a request thread.
+ * <p>
+ * Submitted jobs are queued in {@code report_jobs}. A fixed pool of workers claims them one at a
+ * time, taking jobs of the parlours with the fewest running jobs first so one tenant cannot occupy
+ * every worker. Results are written to local files that the admin downloads once the job has
+ * succeeded; files are deleted when their TTL runs out. Any node may claim any job, so the
+ * reports directory must be shared when several nodes run.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    private static final int RECENT_JOBS = 20;
+    private static final int EXPIRE_BATCH_SIZE = 100;
+    private static final List<ReportJob.Status> PENDING = List.of(ReportJob.Status.QUEUED, ReportJob.Status.RUNNING);
+
+    public record ReportFile(Path path, String fileName, String contentType) {}
+
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private ReportJobJdbcRepository reportJobJdbcRepository;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private StaffSalaryLogRepository staffSalaryLogRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("reportExecutor")
+    private TaskExecutor reportExecutor;
+
+    @Value("${reports.directory:data/reports}")
+    private String directory;
+
+    @Value("${reports.workers:2}")
+    private int workers;
+
+    @Value("${reports.max-running-per-parlour:1}")
+    private int maxRunningPerParlour;
+
+    @Value("${reports.max-pending-per-parlour:5}")
+    private int maxPendingPerParlour;
+
+    @Value("${reports.result-ttl-hours:24}")
+    private long resultTtlHours;
+
+    @Value("${reports.timeout-minutes:60}")
+    private int timeoutMinutes;
+
+    public ReportJobDTO submit(UUID parlourId, SubmitReportRequest request) {
+        ReportJob.ReportType type = ReportJob.ReportType.from(request.getType());
+        validate(type, request);
+        if (reportJobRepository.countByParlourIdAndStatusIn(parlourId, PENDING) >= maxPendingPerParlour) {
+            throw new BusinessRuleViolationException(
+                    "At most " + maxPendingPerParlour + " reports can be queued or running at once");
+        }
+
+        ReportJob job;
+        try {
+            job = reportJobRepository.save(new ReportJob(parlourId, type, objectMapper.writeValueAsString(request)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize report parameters", e);
+        }
+        dispatch();
+        return new ReportJobDTO(job);
+    }
+
+    public ReportJobDTO getJob(UUID parlourId, UUID jobId) {
+        return new ReportJobDTO(findJob(parlourId, jobId));
+    }
+
+    public List<ReportJobDTO> getRecentJobs(UUID parlourId) {
+        return reportJobRepository.findByParlourIdOrderByCreatedAtDesc(parlourId, PageRequest.of(0, RECENT_JOBS))
+                .stream().map(ReportJobDTO::new).toList();
+    }
+
+    public ReportFile getResult(UUID parlourId, UUID jobId) {
+        ReportJob job = findJob(parlourId, jobId);
+        if (job.getStatus() != ReportJob.Status.SUCCEEDED) {
+            throw new BusinessRuleViolationException("Report is not ready for download (status " + job.getStatus() + ")");
+        }
+        Path path = Paths.get(job.getResultPath());
+        if (!Files.exists(path)) {
+            throw new ResourceNotFoundException("Report file no longer exists");
+        }
+        String storedName = path.getFileName().toString();
+        String fileName = job.getReportType().name().toLowerCase().replace('_', '-') + "-" + job.getId()
+                + storedName.substring(storedName.indexOf('.'));
+        return new ReportFile(path, fileName, job.getResultContentType());
+    }
+
+    /**
+     * Claims queued jobs while workers are idle. Runs periodically, after each submit and after each job.
+     */
+    @Scheduled(fixedDelayString = "${reports.poll-interval-ms:2000}")
+    public synchronized void dispatch() {
+        while (activeWorkers.get() < workers) {
+            UUID jobId;
+            try {
+                jobId = reportJobJdbcRepository.claimNext(maxRunningPerParlour).orElse(null);
+            } catch (Exception e) {
+                logger.warn("Could not claim report jobs", e);
+                return;
+            }
+            if (jobId == null) {
+                return;
+            }
+            activeWorkers.incrementAndGet();
+            try {
+                reportExecutor.execute(() -> {
+                    try {
+                        run(jobId);
+                    } finally {
+                        activeWorkers.decrementAndGet();
+                    }
+                    dispatch();
+                });
+            } catch (RuntimeException e) {
+                activeWorkers.decrementAndGet();
+                reportJobJdbcRepository.requeue(jobId);
+                logger.warn("Report job {} could not be started", jobId, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fails jobs whose worker went away and deletes result files past their TTL.
+     */
+    @Scheduled(fixedDelayString = "${reports.cleanup-interval-ms:600000}")
+    public void cleanUp() {
+        int timedOut = reportJobJdbcRepository.failRunningLongerThan(timeoutMinutes);
+        if (timedOut > 0) {
+            logger.warn("Failed {} report jobs that ran longer than {} minutes", timedOut, timeoutMinutes);
+        }
+        List<ReportJobJdbcRepository.ExpiredResult> expired;
+        do {
+            expired = reportJobJdbcRepository.findExpiredResults(LocalDateTime.now(), EXPIRE_BATCH_SIZE);
+            for (ReportJobJdbcRepository.ExpiredResult result : expired) {
+                try {
+                    Files.deleteIfExists(Paths.get(result.getResultPath()));
+                    reportJobJdbcRepository.markExpired(result.getId());
+                } catch (IOException e) {
+                    logger.warn("Could not delete expired report file {}", result.getResultPath(), e);
+                    return;
+                }
+            }
+        } while (expired.size() == EXPIRE_BATCH_SIZE);
+    }
+
+    private void run(UUID jobId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        Path temp = null;
+        try {
+            SubmitReportRequest request = objectMapper.readValue(job.getParameters(), SubmitReportRequest.class);
+            Path file = Paths.get(directory, job.getParlourId().toString(), jobId + "." + extension(job, request));
+            Files.createDirectories(file.getParent());
+            temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                generate(job, request, out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            temp = null;
+
+            boolean completed = reportJobJdbcRepository.complete(jobId, file.toString(), contentType(job, request),
+                    Files.size(file), LocalDateTime.now().plusHours(resultTtlHours));
+            if (!completed) {
+                // Timed out meanwhile; nobody will download the file
+                Files.deleteIfExists(file);
+            }
+        } catch (Exception e) {
+            logger.error("Report job {} failed", jobId, e);
+            reportJobJdbcRepository.fail(jobId, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    logger.warn("Could not delete partial report file {}", temp, e);
+                }
+            }
+        }
+    }
+
+    private void generate(ReportJob job, SubmitReportRequest request, OutputStream out) throws IOException {
+        UUID parlourId = job.getParlourId();
+        switch (job.getReportType()) {
+            case SERVICE_BOOKINGS -> {
+                long total = bookingExportService.countServiceBookings(
+                        parlourId, request.getFrom(), request.getTo(), request.getStatus());
+                bookingExportService.exportServiceBookings(parlourId, request.getFrom(), request.getTo(),
+                        request.getStatus(), exportFormat(request), false, progress(job.getId(), total)).writeTo(out);
+            }
+            case COURSE_BOOKINGS -> {
+                long total = bookingExportService.countCourseBookings(
+                        parlourId, request.getFrom(), request.getTo(), request.getStatus());
+                bookingExportService.exportCourseBookings(parlourId, request.getFrom(), request.getTo(),
+                        request.getStatus(), exportFormat(request), false, progress(job.getId(), total)).writeTo(out);
+            }
+            case PAYROLL_HISTORY -> writePayrollHistory(job, request, out);
+            case BOOKING_ANALYTICS -> {
+                LocalDate to = request.getTo() != null ? request.getTo() : LocalDate.now();
+                LocalDate from = request.getFrom() != null ? request.getFrom() : to.minusYears(1).plusDays(1);
+                objectMapper.writeValue(out, dashboardService.getBookingAnalytics(parlourId, from, to));
+            }
+        }
+    }
+
+    private void writePayrollHistory(ReportJob job, SubmitReportRequest request, OutputStream out) throws IOException {
+        LocalDateTime from = request.getFrom() != null ? request.getFrom().atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime to = (request.getTo() != null ? request.getTo() : LocalDate.now()).plusDays(1).atStartOfDay();
+        List<StaffSalaryLog> payments = staffSalaryLogRepository.findPayrollHistory(job.getParlourId(), from, to);
+        ProgressReporter progress = progress(job.getId(), payments.size());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvUtils.writeRow(writer, "paid_on", "staff_id", "staff_name", "designation", "net_salary");
+        long rows = 0;
+        for (StaffSalaryLog payment : payments) {
+            CsvUtils.writeRow(writer, payment.getPaidOn(), payment.getStaffId(), payment.getStaff().getName(),
+                    payment.getStaff().getDesignation(), payment.getNetSalary());
+            if (++rows % 500 == 0) {
+                progress.accept(rows);
+            }
+        }
+        writer.flush();
+    }
+
+    private void validate(ReportJob.ReportType type, SubmitReportRequest request) {
+        if (request.getFrom() != null && request.getTo() != null && request.getTo().isBefore(request.getFrom())) {
+            throw new BusinessRuleViolationException("The end date must not be before the start date");
+        }
+        if (type == ReportJob.ReportType.SERVICE_BOOKINGS || type == ReportJob.ReportType.COURSE_BOOKINGS) {
+            exportFormat(request);
+            if (request.getStatus() != null) {
+                // Same statuses for both booking kinds
+                ServiceBooking.BookingStatus.valueOf(request.getStatus().toUpperCase());
+                CourseBooking.BookingStatus.valueOf(request.getStatus().toUpperCase());
+            }
+        }
+    }
+
+    private BookingExportService.Format exportFormat(SubmitReportRequest request) {
+        return request.getFormat() != null
+                ? BookingExportService.Format.from(request.getFormat())
+                : BookingExportService.Format.CSV;
+    }
+
+    private String extension(ReportJob job, SubmitReportRequest request) {
+        return switch (job.getReportType()) {
+            case SERVICE_BOOKINGS, COURSE_BOOKINGS -> exportFormat(request).getExtension();
+            case PAYROLL_HISTORY -> "csv";
+            case BOOKING_ANALYTICS -> "json";
+        };
+    }
+
+    private String contentType(ReportJob job, SubmitReportRequest request) {
+        return switch (job.getReportType()) {
+            case SERVICE_BOOKINGS, COURSE_BOOKINGS -> exportFormat(request).getContentType() + ";charset=UTF-8";
+            case PAYROLL_HISTORY -> "text/csv;charset=UTF-8";
+            case BOOKING_ANALYTICS -> "application/json";
+        };
+    }
+
+    private ReportJob findJob(UUID parlourId, UUID jobId) {
+        return reportJobRepository.findByIdAndParlourId(jobId, parlourId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found"));
+    }
+
+    private ProgressReporter progress(UUID jobId, long total) {
+        return new ProgressReporter(jobId, total);
+    }
+
+    /** Writes progress to the job row only when the whole percentage changes. */
+    private class ProgressReporter implements LongConsumer {
+        private final UUID jobId;
+        private final long total;
+        private int reported;
+
+        ProgressReporter(UUID jobId, long total) {
+            this.jobId = jobId;
+            this.total = total;
+        }
+
+        @Override
+        public void accept(long rows) {
+            // 100 is only reported on completion, together with the result
+            int percent = total == 0 ? 0 : (int) Math.min(99, rows * 100 / total);
+            if (percent > reported) {
+                reported = percent;
+                reportJobJdbcRepository.updateProgress(jobId, percent);
+            }
+        }
+    }
+}
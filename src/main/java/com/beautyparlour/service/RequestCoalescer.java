@@ -0,0 +1,88 @@
+package com.beautyparlour.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent reads.
+ * <p>
+ * The first caller for a given (operation, key) runs the loader; callers arriving while it is
+ * still running wait for and share its result (or exception) instead of issuing the same query.
+ * Nothing is cached once the call completes. Shared results are handed to several request threads,
+ * so loaders must return immutable values such as DTO lists, never managed entities.
+ * <p>
+ * Metrics: {@code request.coalescer.calls} counted per operation with {@code result=executed|collapsed}.
+ */
+@Service
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collapsedCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Runs the loader, or joins an identical call already in flight.
+     * @param operation name of the read, also used as the metrics tag
+     * @param key tenant and parameters identifying the read; compared by {@code toString()}
+     * @param loader the actual read
+     * @return the loader's result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        String flightKey = operation + "|" + Objects.toString(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            counter(collapsedCounters, operation, "collapsed").increment();
+            return (T) await(existing);
+        }
+
+        counter(executedCounters, operation, "executed").increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the loader's own exception so callers see the same error as the leader
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String operation, String result) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder("request.coalescer.calls")
+                .description("Reads executed or collapsed into an identical in-flight read")
+                .tag("operation", op)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+}
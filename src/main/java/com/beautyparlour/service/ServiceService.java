@@ -1,11 +1,16 @@
 package com.beautyparlour.service;
 
+import com.beautyparlour.constants.AppConstants;
 import com.beautyparlour.dto.request.CreateServiceRequest;
+import com.beautyparlour.dto.response.CursorPagedResponse;
+import com.beautyparlour.dto.response.ServiceDTO;
 import com.beautyparlour.entity.Service;
 import com.beautyparlour.exception.ResourceNotFoundException;
 import com.beautyparlour.repository.CategoryRepository;
 import com.beautyparlour.repository.ServiceRepository;
+import com.beautyparlour.util.CursorUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,6 +24,12 @@ public class ServiceService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TenantCacheEvictor tenantCacheEvictor;
+
+    @Autowired
+    private CatalogListingCache catalogListingCache;
+
     public Service createService(CreateServiceRequest request, UUID parlourId) {
         // Verify category belongs to the same parlour
         categoryRepository.findByIdAndParlourId(request.getCategoryId(), parlourId)
@@ -31,20 +42,52 @@ public class ServiceService {
                 request.getImageUrl(),
                 request.getPrice()
         );
-        return serviceRepository.save(service);
+        if (request.getDurationMinutes() != null) {
+            service.setDurationMinutes(request.getDurationMinutes());
+        }
+        Service saved = serviceRepository.save(service);
+        tenantCacheEvictor.entityChanged(AppConstants.CacheRegions.SERVICES, saved.getId(), parlourId);
+        return saved;
     }
 
     public List<Service> getServicesByParlour(UUID parlourId) {
-        return serviceRepository.findByParlourId(parlourId);
+        return catalogListingCache.get(AppConstants.CacheRegions.SERVICE_LISTINGS, parlourId, Service.class,
+                () -> serviceRepository.findByParlourId(parlourId), Service::getId);
     }
 
-    public List<Service> getAllServices() {
-        return serviceRepository.findAll();
+    /**
+     * One page of the cross-tenant marketplace browse, ordered by name.
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ServiceDTO> browseServices(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), AppConstants.Pagination.MAX_PAGE_SIZE);
+        // One extra row tells whether another page follows
+        List<Service> services;
+        if (cursor == null || cursor.isBlank()) {
+            services = serviceRepository.browseFirstPage(pageSize + 1);
+        } else {
+            CursorUtils.NameIdCursor after = CursorUtils.decode(cursor);
+            services = serviceRepository.browseAfter(after.name(), after.id(), pageSize + 1);
+        }
+
+        boolean hasNext = services.size() > pageSize;
+        List<ServiceDTO> page = services.stream()
+                .limit(pageSize)
+                .map(ServiceDTO::new)
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            ServiceDTO last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getName(), last.getId());
+        }
+        return new CursorPagedResponse<>(page, pageSize, nextCursor);
     }
 
     public void deleteService(UUID serviceId, UUID parlourId) {
         Service service = serviceRepository.findByIdAndParlourId(serviceId, parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
         serviceRepository.delete(service);
+        tenantCacheEvictor.entityChanged(AppConstants.CacheRegions.SERVICES, serviceId, parlourId);
     }
 }
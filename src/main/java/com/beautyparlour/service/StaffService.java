@@ -6,14 +6,19 @@ import com.beautyparlour.entity.Staff;
 import com.beautyparlour.entity.StaffAdvancePay;
 import com.beautyparlour.entity.StaffSalaryLog;
 import com.beautyparlour.exception.BusinessRuleViolationException;
+import com.beautyparlour.exception.DuplicateResourceException;
 import com.beautyparlour.exception.ResourceNotFoundException;
+import com.beautyparlour.repository.PayrollJdbcRepository;
+import com.beautyparlour.repository.StaffAdvanceBalanceJdbcRepository;
 import com.beautyparlour.repository.StaffAdvancePayRepository;
 import com.beautyparlour.repository.StaffRepository;
 import com.beautyparlour.repository.StaffSalaryLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +34,12 @@ public class StaffService {
     @Autowired
     private StaffSalaryLogRepository staffSalaryLogRepository;
 
+    @Autowired
+    private StaffAdvanceBalanceJdbcRepository staffAdvanceBalanceJdbcRepository;
+
+    @Autowired
+    private PayrollJdbcRepository payrollJdbcRepository;
+
     public Staff createStaff(CreateStaffRequest request, UUID parlourId) {
         Staff staff = new Staff(
                 parlourId,
@@ -50,35 +61,46 @@ public class StaffService {
         staffRepository.delete(staff);
     }
 
+    @Transactional
     public StaffAdvancePay recordAdvancePay(UUID staffId, StaffAdvancePayRequest request, UUID parlourId) {
         Staff staff = staffRepository.findByIdAndParlourId(staffId, parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Staff not found"));
 
-        // Business rule: Advance cannot exceed 80% of base salary
-        BigDecimal maxAdvanceAllowed = staff.getBaseSalary().multiply(new BigDecimal("0.80"));
-        BigDecimal currentTotalAdvance = staffAdvancePayRepository.getTotalAdvanceByStaffId(staffId);
-        BigDecimal newTotalAdvance = currentTotalAdvance.add(request.getAmount());
+        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessRuleViolationException("Advance amount must be positive");
+        }
 
-        if (newTotalAdvance.compareTo(maxAdvanceAllowed) > 0) {
+        // Business rule: Advance cannot exceed 80% of base salary within a pay period.
+        // The limit is checked and the balance updated in one statement, so concurrent requests cannot overshoot it.
+        BigDecimal maxAdvanceAllowed = staff.getBaseSalary().multiply(new BigDecimal("0.80"));
+        if (staffAdvanceBalanceJdbcRepository.addAdvance(staffId, request.getAmount(), maxAdvanceAllowed).isEmpty()) {
+            BigDecimal currentTotalAdvance = staffAdvanceBalanceJdbcRepository.getOutstanding(staffId);
             throw new BusinessRuleViolationException(
                 String.format("Total advance cannot exceed 80%% of base salary. " +
                     "Current advance: %s, Requested: %s, Maximum allowed: %s", 
                     currentTotalAdvance, request.getAmount(), maxAdvanceAllowed));
         }
 
-        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BusinessRuleViolationException("Advance amount must be positive");
-        }
-
         StaffAdvancePay advancePay = new StaffAdvancePay(staffId, request.getAmount());
         return staffAdvancePayRepository.save(advancePay);
     }
 
+    @Transactional
     public StaffSalaryLog calculateAndLogSalary(UUID staffId, UUID parlourId) {
         Staff staff = staffRepository.findByIdAndParlourId(staffId, parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Staff not found"));
 
-        BigDecimal totalAdvance = staffAdvancePayRepository.getTotalAdvanceByStaffId(staffId);
+        // Same lock and check as PayrollService, so a manual payment cannot race a payroll run
+        // or another manual payment into paying the month twice
+        payrollJdbcRepository.lockParlourPayroll(parlourId);
+        YearMonth month = YearMonth.now();
+        if (payrollJdbcRepository.isAlreadyPaid(staffId,
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay())) {
+            throw new DuplicateResourceException("Salary already paid for " + month);
+        }
+
+        // Paying salary closes the period: the outstanding advance is deducted and reset
+        BigDecimal totalAdvance = staffAdvanceBalanceJdbcRepository.settle(staffId);
         BigDecimal netSalary = staff.getBaseSalary().subtract(totalAdvance);
 
         if (netSalary.compareTo(BigDecimal.ZERO) < 0) {
@@ -7,6 +7,7 @@ import com.beautyparlour.entity.Parlour;
 import com.beautyparlour.exception.ResourceNotFoundException;
 import com.beautyparlour.repository.AdminRepository;
 import com.beautyparlour.repository.ParlourRepository;
+import com.beautyparlour.util.SlugUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -28,6 +29,12 @@ public class SuperAdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TenantCacheEvictor tenantCacheEvictor;
+
+    @Autowired
+    private ParlourSlugResolver parlourSlugResolver;
+
     @Transactional
     public ParlourResponse createParlour(CreateParlourRequest request) {
         // Check if admin email already exists
@@ -41,6 +48,7 @@ public class SuperAdminService {
                 request.getLogoUrl(),
                 request.getContactInfo()
         );
+        parlour.setSlug(uniqueSlug(request.getParlourName()));
         parlour = parlourRepository.save(parlour);
 
         // Create admin
@@ -56,6 +64,7 @@ public class SuperAdminService {
         ParlourResponse response = new ParlourResponse();
         response.setParlourId(parlour.getParlourId());
         response.setName(parlour.getName());
+        response.setSlug(parlour.getSlug());
         response.setLogoUrl(parlour.getLogoUrl());
         response.setContactInfo(parlour.getContactInfo());
         response.setCreatedAt(parlour.getCreatedAt());
@@ -71,6 +80,7 @@ public class SuperAdminService {
             ParlourResponse response = new ParlourResponse();
             response.setParlourId(parlour.getParlourId());
             response.setName(parlour.getName());
+            response.setSlug(parlour.getSlug());
             response.setLogoUrl(parlour.getLogoUrl());
             response.setContactInfo(parlour.getContactInfo());
             response.setCreatedAt(parlour.getCreatedAt());
@@ -91,6 +101,10 @@ public class SuperAdminService {
         Parlour parlour = parlourRepository.findById(parlourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Parlour not found"));
 
+        // Catalog rows go with the parlour through database cascades, so evict them on every node
+        tenantCacheEvictor.evictParlour(parlourId);
+        parlourSlugResolver.evict(parlour.getSlug());
+
         // Delete admin first
         adminRepository.findByParlourId(parlourId)
                 .ifPresent(adminRepository::delete);
@@ -98,4 +112,13 @@ public class SuperAdminService {
         // Delete parlour
         parlourRepository.delete(parlour);
     }
+
+    private String uniqueSlug(String parlourName) {
+        String base = SlugUtils.slugify(parlourName);
+        String slug = base;
+        for (int suffix = 2; parlourRepository.existsBySlug(slug); suffix++) {
+            slug = base + "-" + suffix;
+        }
+        return slug;
+    }
 }
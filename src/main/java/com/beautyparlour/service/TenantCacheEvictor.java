@@ -0,0 +1,126 @@
+package com.beautyparlour.service;
+
+import com.beautyparlour.constants.AppConstants;
+import com.beautyparlour.entity.Admin;
+import com.beautyparlour.entity.Category;
+import com.beautyparlour.entity.Course;
+import com.beautyparlour.entity.Parlour;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the Hibernate second-level cache consistent across nodes and with database cascades.
+ * <p>
+ * Each node only sees the writes it makes itself, so every catalog write is announced through the
+ * {@link CacheInvalidationBus}: the changed entity and its parlour's cached listing of that type
+ * ({@link CatalogListingCache}) are evicted on all nodes after commit; other parlours keep theirs. Deleting a parlour or a category also removes rows through ON DELETE CASCADE,
+ * which Hibernate never sees; those rows are collected before the delete and evicted the same way.
+ */
+@Service
+public class TenantCacheEvictor {
+
+    // Above this many ids a whole region is dropped instead of sending one message per id
+    private static final int MAX_SINGLE_EVICTIONS = 100;
+
+    private static final Map<String, Class<?>> ENTITY_REGIONS = Map.of(
+            AppConstants.CacheRegions.PARLOURS, Parlour.class,
+            AppConstants.CacheRegions.ADMINS, Admin.class,
+            AppConstants.CacheRegions.CATEGORIES, Category.class,
+            AppConstants.CacheRegions.SERVICES, com.beautyparlour.entity.Service.class,
+            AppConstants.CacheRegions.COURSES, Course.class);
+
+    private static final Map<String, String> LISTING_REGIONS = Map.of(
+            AppConstants.CacheRegions.CATEGORIES, AppConstants.CacheRegions.CATEGORY_LISTINGS,
+            AppConstants.CacheRegions.SERVICES, AppConstants.CacheRegions.SERVICE_LISTINGS,
+            AppConstants.CacheRegions.COURSES, AppConstants.CacheRegions.COURSE_LISTINGS);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CatalogListingCache catalogListingCache;
+
+    @PostConstruct
+    public void registerRegions() {
+        ENTITY_REGIONS.forEach((region, entityClass) -> cacheInvalidationBus.register(region, key -> {
+            if (CacheInvalidationBus.ALL_KEYS.equals(key)) {
+                cache().evictEntityData(entityClass);
+            } else {
+                cache().evictEntityData(entityClass, UUID.fromString(key));
+            }
+        }));
+        LISTING_REGIONS.values().forEach(region ->
+                cacheInvalidationBus.register(region, key -> catalogListingCache.evict(region, key)));
+    }
+
+    /**
+     * Announces a created, updated or deleted entity of a cached region (see {@link AppConstants.CacheRegions}).
+     * @param parlourId the entity's parlour, whose cached listing of that type is evicted as well
+     */
+    public void entityChanged(String region, UUID id, UUID parlourId) {
+        cacheInvalidationBus.invalidate(region, id.toString());
+        String listingRegion = LISTING_REGIONS.get(region);
+        if (listingRegion != null) {
+            cacheInvalidationBus.invalidate(listingRegion, parlourId.toString());
+        }
+    }
+
+    /**
+     * Call before deleting a parlour; evicts all of its cached reference entities after commit.
+     */
+    public void evictParlour(UUID parlourId) {
+        evictAll(AppConstants.CacheRegions.ADMINS, idsOf("admins", "parlour_id", parlourId));
+        evictAll(AppConstants.CacheRegions.CATEGORIES, idsOf("categories", "parlour_id", parlourId));
+        evictAll(AppConstants.CacheRegions.SERVICES, idsOf("services", "parlour_id", parlourId));
+        evictAll(AppConstants.CacheRegions.COURSES, idsOf("courses", "parlour_id", parlourId));
+        entityChanged(AppConstants.CacheRegions.PARLOURS, parlourId, parlourId);
+        evictCatalogListings(parlourId);
+    }
+
+    /**
+     * Call before deleting a category; evicts the services deleted with it after commit.
+     */
+    public void evictCategory(UUID categoryId, UUID parlourId) {
+        evictAll(AppConstants.CacheRegions.SERVICES, idsOf("services", "category_id", categoryId));
+        entityChanged(AppConstants.CacheRegions.CATEGORIES, categoryId, parlourId);
+        cacheInvalidationBus.invalidate(AppConstants.CacheRegions.SERVICE_LISTINGS, parlourId.toString());
+    }
+
+    /**
+     * Call after a parlour's catalog rows were written with plain JDBC; its cached listings are dropped after commit.
+     */
+    public void evictCatalogListings(UUID parlourId) {
+        LISTING_REGIONS.values().forEach(region -> cacheInvalidationBus.invalidate(region, parlourId.toString()));
+    }
+
+    private void evictAll(String region, List<UUID> ids) {
+        if (ids.size() > MAX_SINGLE_EVICTIONS) {
+            cacheInvalidationBus.invalidateAll(region);
+        } else {
+            ids.forEach(id -> cacheInvalidationBus.invalidate(region, id.toString()));
+        }
+    }
+
+    private List<UUID> idsOf(String table, String column, UUID value) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE " + column + " = ?", UUID.class, value);
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,233 @@
+package com.beautyparlour.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-only columnar segment of booking facts, memory-mapped from a file.
+ * <p>
+ * Every column is a primitive array: epoch day, status code, item code and price in minor units.
+ * Item codes index a dictionary of service and course ids stored with the segment. Queries first
+ * build a selection bitmap with a branch-free scan over the filter columns, then aggregate the
+ * selected rows; both loops run over flat buffers without per-row objects.
+ * <p>
+ * File layout (little-endian): magic, version, row count, dictionary size, the dictionary as
+ * pairs of longs, then the day, status, item and price columns, each aligned to 8 bytes.
+ */
+public final class BookingColumnSegment {
+
+    public static final List<String> STATUSES = List.of("PENDING", "ACCEPTED", "CANCELLED", "COMPLETED");
+
+    private static final int MAGIC = 0x42504353;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final byte COMPLETED = (byte) STATUSES.indexOf("COMPLETED");
+
+    /** Counts per status code and completed revenue of the selected rows. */
+    public static final class Totals {
+        private final long[] statusCounts = new long[STATUSES.size()];
+        private long completedRevenueMinor;
+
+        public long getCount(String status) { return statusCounts[STATUSES.indexOf(status)]; }
+        public long getTotal() { return Arrays.stream(statusCounts).sum(); }
+        public Money getCompletedRevenue() { return Money.ofMinor(completedRevenueMinor); }
+
+        public void add(Totals other) {
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] += other.statusCounts[i];
+            }
+            completedRevenueMinor = Math.addExact(completedRevenueMinor, other.completedRevenueMinor);
+        }
+    }
+
+    /** Accumulates rows in growable primitive arrays and writes them out as a segment file. */
+    public static final class Builder {
+        private int[] days = new int[1024];
+        private byte[] statuses = new byte[1024];
+        private int[] itemCodes = new int[1024];
+        private long[] prices = new long[1024];
+        private final Map<UUID, Integer> dictionary = new HashMap<>();
+        private final List<UUID> items = new ArrayList<>();
+        private int size;
+
+        public void add(LocalDate day, String status, UUID itemId, Money price) {
+            int statusCode = STATUSES.indexOf(status);
+            if (statusCode < 0) {
+                throw new IllegalArgumentException("Unknown booking status: " + status);
+            }
+            if (size == days.length) {
+                int capacity = size * 2;
+                days = Arrays.copyOf(days, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                itemCodes = Arrays.copyOf(itemCodes, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+            }
+            days[size] = Math.toIntExact(day.toEpochDay());
+            statuses[size] = (byte) statusCode;
+            itemCodes[size] = dictionary.computeIfAbsent(itemId, id -> {
+                items.add(id);
+                return items.size() - 1;
+            });
+            prices[size] = price.getMinorUnits();
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Writes the segment next to {@code file} and moves it into place, so readers mapping the
+         * previous version keep a consistent view.
+         */
+        public void writeTo(Path file) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(layoutSize(size, items.size())).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(items.size());
+            for (UUID item : items) {
+                buffer.putLong(item.getMostSignificantBits()).putLong(item.getLeastSignificantBits());
+            }
+            buffer.asIntBuffer().put(days, 0, size);
+            buffer.position(align(buffer.position() + size * Integer.BYTES));
+            buffer.put(statuses, 0, size);
+            buffer.position(align(buffer.position()));
+            buffer.asIntBuffer().put(itemCodes, 0, size);
+            buffer.position(align(buffer.position() + size * Integer.BYTES));
+            buffer.asLongBuffer().put(prices, 0, size);
+            buffer.rewind();
+
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private final int rowCount;
+    private final Map<UUID, Integer> dictionary;
+    private final IntBuffer days;
+    private final ByteBuffer statuses;
+    private final IntBuffer itemCodes;
+    private final LongBuffer prices;
+
+    private BookingColumnSegment(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException("Not a booking column segment");
+        }
+        this.rowCount = buffer.getInt();
+        int dictionarySize = buffer.getInt();
+        if (buffer.capacity() != layoutSize(rowCount, dictionarySize)) {
+            throw new IllegalArgumentException("Truncated booking column segment");
+        }
+        this.dictionary = new HashMap<>(dictionarySize * 2);
+        for (int code = 0; code < dictionarySize; code++) {
+            dictionary.put(new UUID(buffer.getLong(), buffer.getLong()), code);
+        }
+        this.days = slice(buffer, buffer.position(), rowCount * Integer.BYTES).asIntBuffer();
+        int statusOffset = align(buffer.position() + rowCount * Integer.BYTES);
+        this.statuses = slice(buffer, statusOffset, rowCount);
+        int itemOffset = align(statusOffset + rowCount);
+        this.itemCodes = slice(buffer, itemOffset, rowCount * Integer.BYTES).asIntBuffer();
+        int priceOffset = align(itemOffset + rowCount * Integer.BYTES);
+        this.prices = slice(buffer, priceOffset, rowCount * Long.BYTES).asLongBuffer();
+    }
+
+    public static BookingColumnSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new BookingColumnSegment(mapped);
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Rows whose day lies in [{@code from}, {@code to}) and, if {@code itemId} is not null,
+     * that booked that service or course.
+     * @return a bitmap with one bit per row
+     */
+    public long[] select(LocalDate from, LocalDate to, UUID itemId) {
+        long[] selection = new long[(rowCount + 63) >>> 6];
+        int fromDay = Math.toIntExact(from.toEpochDay());
+        int lastDay = Math.toIntExact(to.toEpochDay() - 1);
+        for (int i = 0; i < rowCount; i++) {
+            int day = days.get(i);
+            // The sign bit is set when the day falls outside the range
+            long outside = ((day - fromDay) | (lastDay - day)) >>> 31;
+            selection[i >>> 6] |= (outside ^ 1) << (i & 63);
+        }
+        if (itemId != null) {
+            Integer code = dictionary.get(itemId);
+            if (code == null) {
+                return new long[selection.length];
+            }
+            int wanted = code;
+            for (int i = 0; i < rowCount; i++) {
+                int difference = itemCodes.get(i) ^ wanted;
+                long other = (difference | -difference) >>> 31;
+                selection[i >>> 6] &= ~(other << (i & 63));
+            }
+        }
+        return selection;
+    }
+
+    public Totals aggregate(long[] selection) {
+        Totals totals = new Totals();
+        long revenue = 0;
+        for (int word = 0; word < selection.length; word++) {
+            long bits = selection[word];
+            while (bits != 0) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                byte status = statuses.get(row);
+                totals.statusCounts[status]++;
+                if (status == COMPLETED) {
+                    revenue = Math.addExact(revenue, prices.get(row));
+                }
+                bits &= bits - 1;
+            }
+        }
+        totals.completedRevenueMinor = revenue;
+        return totals;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        return buffer.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int layoutSize(int rows, int dictionarySize) {
+        int size = HEADER_BYTES + dictionarySize * 2 * Long.BYTES;
+        size = align(size + rows * Integer.BYTES);
+        size = align(size + rows);
+        size = align(size + rows * Integer.BYTES);
+        return size + rows * Long.BYTES;
+    }
+
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+}
@@ -0,0 +1,46 @@
+package com.beautyparlour.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for matching client names the way clients type them.
+ */
+public final class ClientNameUtils {
+
+    /**
+     * Whitespace as the {@code normalized_name} column sees it: ASCII whitespace plus the Unicode space
+     * separators, line/paragraph separators and the zero-width no-break space. Spelled out because
+     * Java's {@code \s} and PostgreSQL's {@code \s} disagree outside ASCII.
+     */
+    public static final String WHITESPACE_CLASS =
+            "[\\t\\n\\u000B\\f\\r \\u00A0\\u1680\\u2000-\\u200A\\u2028\\u2029\\u202F\\u205F\\u3000\\uFEFF]";
+
+    private static final Pattern WHITESPACE = Pattern.compile(WHITESPACE_CLASS + "+");
+
+    private ClientNameUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Collapses runs of whitespace, trims and lower-cases the name, e.g. "  Asha   RAO " becomes "asha rao".
+     * Only ASCII letters are lower-cased, like {@code lower(... COLLATE "C")} in the database, so the
+     * result does not depend on the database locale; other letters are matched as typed.
+     * Must stay in line with the {@code normalized_name} column of the booking and archive tables (V12).
+     * @param name the name as entered
+     * @return the normalized name, empty for a null name
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String collapsed = WHITESPACE.matcher(name).replaceAll(" ");
+        int start = collapsed.startsWith(" ") ? 1 : 0;
+        int end = collapsed.length() > start && collapsed.endsWith(" ") ? collapsed.length() - 1 : collapsed.length();
+        StringBuilder normalized = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = collapsed.charAt(i);
+            normalized.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package com.beautyparlour.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for reading and writing RFC 4180 CSV.
+ */
+public final class CsvUtils {
+
+    private CsvUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Writes one CSV record followed by CRLF. Null values are written as empty fields.
+     * @param writer the target writer
+     * @param values the field values
+     * @throws IOException if writing fails
+     */
+    public static void writeRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Escapes a single field, quoting it when it contains a delimiter, quote or line break.
+     * Text starting with {@code = + - @}, tab or carriage return is prefixed with {@code '} and quoted,
+     * so spreadsheets show it instead of evaluating it as a formula; numbers and dates are left as they are.
+     * @param value the field value
+     * @return the escaped field
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        boolean needsQuotes = false;
+        if (value instanceof CharSequence && isFormulaTrigger(text)) {
+            text = "'" + text;
+            needsQuotes = true;
+        }
+        for (int i = 0; i < text.length() && !needsQuotes; i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+            }
+        }
+        if (!needsQuotes) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean isFormulaTrigger(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    /**
+     * Reads the next CSV record. Quoted fields may contain delimiters, escaped quotes and line breaks.
+     * @param reader the source reader
+     * @return the record's fields, or null at end of input
+     * @throws IOException if reading fails
+     */
+    public static List<String> readRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,72 @@
+package com.beautyparlour.util;
+
+import com.beautyparlour.exception.BusinessRuleViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Utility class for the opaque cursors of keyset-paginated listings ordered by (name, id)
+ * and of listings and change feeds ordered by (timestamp, id).
+ */
+public final class CursorUtils {
+
+    private CursorUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Position of the last row of a page; the next page starts strictly after it.
+     */
+    public record NameIdCursor(String name, UUID id) {}
+
+    public static String encode(String name, UUID id) {
+        String raw = id + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor a cursor returned by {@link #encode(String, UUID)}
+     * @return the decoded position
+     * @throws BusinessRuleViolationException if the cursor is malformed
+     */
+    public static NameIdCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // UUIDs never contain ':', names may
+            int separator = raw.indexOf(':');
+            return new NameIdCursor(raw.substring(separator + 1), UUID.fromString(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessRuleViolationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Position in a listing ordered by a timestamp, such as creation or modification time, and id.
+     */
+    public record TimeIdCursor(LocalDateTime time, UUID id) {}
+
+    public static String encode(LocalDateTime time, UUID id) {
+        String raw = id + "@" + time;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor a cursor returned by {@link #encode(LocalDateTime, UUID)}
+     * @return the decoded position
+     * @throws BusinessRuleViolationException if the cursor is malformed
+     */
+    public static TimeIdCursor decodeTimeId(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('@');
+            return new TimeIdCursor(LocalDateTime.parse(raw.substring(separator + 1)),
+                    UUID.fromString(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessRuleViolationException("Invalid cursor");
+        }
+    }
+}
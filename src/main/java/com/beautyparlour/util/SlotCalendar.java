@@ -0,0 +1,116 @@
+package com.beautyparlour.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Busy slots of one staff member's day as a bitset, one bit per slot.
+ * <p>
+ * Reservations set their bits with compare-and-set on each 64-slot word, so concurrent reservations
+ * of overlapping ranges never both succeed. A reservation spanning several words is applied word by
+ * word and rolled back if a later word conflicts; readers may briefly see such a partial range as busy.
+ */
+public final class SlotCalendar {
+
+    private final int slots;
+    private final AtomicLongArray words;
+
+    public SlotCalendar(int slots) {
+        if (slots <= 0) {
+            throw new IllegalArgumentException("A calendar needs at least one slot");
+        }
+        this.slots = slots;
+        this.words = new AtomicLongArray((slots + 63) >>> 6);
+    }
+
+    public int size() {
+        return slots;
+    }
+
+    /**
+     * @return true if none of the {@code length} slots from {@code start} is busy
+     */
+    public boolean isFree(int start, int length) {
+        checkRange(start, length);
+        int end = start + length;
+        for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+            if ((words.get(word) & mask(word, start, end)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * First start at or after {@code from} of {@code length} free slots in a row.
+     * @return the slot index, or -1 if there is none
+     */
+    public int nextFree(int from, int length) {
+        for (int start = Math.max(from, 0); start + length <= slots; start++) {
+            if (isFree(start, length)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Marks the slots busy if all of them are free.
+     * @return false, leaving the calendar unchanged, if any slot is already busy
+     */
+    public boolean tryReserve(int start, int length) {
+        checkRange(start, length);
+        int end = start + length;
+        for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+            long mask = mask(word, start, end);
+            while (true) {
+                long current = words.get(word);
+                if ((current & mask) != 0) {
+                    clear(start, Math.min(end, word << 6));
+                    return false;
+                }
+                if (words.compareAndSet(word, current, current | mask)) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the slots busy whether or not they already are, e.g. when loading stored appointments.
+     */
+    public void markBusy(int start, int length) {
+        checkRange(start, length);
+        int end = start + length;
+        for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+            long mask = mask(word, start, end);
+            words.getAndUpdate(word, current -> current | mask);
+        }
+    }
+
+    public void release(int start, int length) {
+        checkRange(start, length);
+        clear(start, start + length);
+    }
+
+    private void clear(int start, int end) {
+        for (int word = start >>> 6; start < end && word <= (end - 1) >>> 6; word++) {
+            long mask = mask(word, start, end);
+            words.getAndUpdate(word, current -> current & ~mask);
+        }
+    }
+
+    // Bits of [start, end) that fall into the given word
+    private static long mask(int word, int start, int end) {
+        int from = Math.max(start, word << 6) - (word << 6);
+        int to = Math.min(end, (word + 1) << 6) - (word << 6);
+        long bits = to - from == 64 ? -1L : (1L << (to - from)) - 1;
+        return bits << from;
+    }
+
+    private void checkRange(int start, int length) {
+        if (start < 0 || length <= 0 || start + length > slots) {
+            throw new IllegalArgumentException("Slots " + start + "+" + length + " outside calendar of " + slots);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.beautyparlour.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Utility class for building URL-friendly identifiers.
+ */
+public final class SlugUtils {
+
+    private static final int MAX_SLUG_LENGTH = 100;
+
+    private SlugUtils() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Converts a display name to a lower-case slug, e.g. "Glow &amp; Go Salon" becomes "glow-go-salon".
+     * @param name the display name
+     * @return the slug, or "parlour" when the name has no usable characters
+     */
+    public static String slugify(String name) {
+        String ascii = Normalizer.normalize(name == null ? "" : name, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        String slug = ascii.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("(^-+|-+$)", "");
+        if (slug.length() > MAX_SLUG_LENGTH) {
+            slug = slug.substring(0, MAX_SLUG_LENGTH).replaceAll("-+$", "");
+        }
+        return slug.isEmpty() ? "parlour" : slug;
+    }
+}
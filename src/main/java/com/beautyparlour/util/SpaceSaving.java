@@ -0,0 +1,112 @@
+package com.beautyparlour.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitters summary (Metwally et al.) tracking at most {@code capacity} keys.
+ * <p>
+ * When a new key arrives and the summary is full, it replaces the key with the smallest count
+ * and inherits that count as its error. Every reported count overestimates the true count by at
+ * most its error, and any key occurring more than N / capacity times is guaranteed to be tracked.
+ * Not thread-safe.
+ */
+public final class SpaceSaving<K> {
+
+    public static final class Entry<K> {
+        private final K key;
+        private long count;
+        private long error;
+        private final long sequence;
+
+        private Entry(K key, long count, long error, long sequence) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.sequence = sequence;
+        }
+
+        public K getKey() { return key; }
+        /** Estimated count; never below the true count. */
+        public long getCount() { return count; }
+        /** Maximum overestimation of the count. */
+        public long getError() { return error; }
+        /** Guaranteed lower bound of the true count. */
+        public long getGuaranteedCount() { return count - error; }
+    }
+
+    private static final Comparator<Entry<?>> BY_COUNT = Comparator
+            .<Entry<?>>comparingLong(entry -> entry.count)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final int capacity;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final TreeSet<Entry<K>> ordered = new TreeSet<>(BY_COUNT);
+    private long nextSequence;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void offer(K key) {
+        offer(key, 1);
+    }
+
+    public void offer(K key, long increment) {
+        Entry<K> entry = entries.get(key);
+        if (entry != null) {
+            ordered.remove(entry);
+            entry.count += increment;
+            ordered.add(entry);
+        } else if (entries.size() < capacity) {
+            add(key, increment, 0);
+        } else {
+            Entry<K> min = ordered.pollFirst();
+            entries.remove(min.key);
+            add(key, min.count + increment, min.count);
+        }
+    }
+
+    /**
+     * Adds a previously checkpointed entry. Entries beyond the capacity are ignored.
+     */
+    public void restore(K key, long count, long error) {
+        if (!entries.containsKey(key) && entries.size() < capacity) {
+            add(key, count, error);
+        }
+    }
+
+    /**
+     * @return up to {@code limit} entries with the highest counts, highest first
+     */
+    public List<Entry<K>> top(int limit) {
+        List<Entry<K>> top = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<Entry<K>> iterator = ordered.descendingIterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void add(K key, long count, long error) {
+        Entry<K> entry = new Entry<>(key, count, error, nextSequence++);
+        entries.put(key, entry);
+        ordered.add(entry);
+    }
+}
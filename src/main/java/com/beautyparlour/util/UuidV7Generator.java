@@ -0,0 +1,68 @@
+package com.beautyparlour.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generator for time-ordered UUIDv7 values (RFC 9562).
+ * The 48-bit millisecond timestamp leads the value so new keys land at the right-hand
+ * edge of a B-tree index instead of being scattered across it. The 12-bit rand_a field
+ * is used as a counter, which keeps values monotonic within one JVM even when several
+ * ids are generated in the same millisecond or the wall clock steps backwards.
+ */
+public final class UuidV7Generator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_SEQUENCE = 0xFFF;
+    private static final Object LOCK = new Object();
+
+    private static long lastTimestamp = -1L;
+    private static int sequence;
+
+    private UuidV7Generator() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Generates the next UUIDv7 value.
+     * @return a UUID greater than any value previously returned by this JVM
+     */
+    public static UUID next() {
+        // The 62 random bits keep ids unguessable, so they come from a secure source
+        long randomBits = RANDOM.nextLong();
+        long timestamp;
+        int counter;
+
+        synchronized (LOCK) {
+            long now = System.currentTimeMillis();
+            if (now > lastTimestamp) {
+                lastTimestamp = now;
+                // Seed with a leading zero bit so the counter has room to increment
+                sequence = ThreadLocalRandom.current().nextInt(MAX_SEQUENCE >> 1);
+            } else if (++sequence > MAX_SEQUENCE) {
+                // Counter exhausted (or clock moved back): borrow the next millisecond
+                lastTimestamp++;
+                sequence = 0;
+            }
+            timestamp = lastTimestamp;
+            counter = sequence;
+        }
+
+        long mostSigBits = ((timestamp & 0xFFFFFFFFFFFFL) << 16) | 0x7000L | counter;
+        long leastSigBits = (randomBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the creation time embedded in a UUIDv7 value.
+     * @param uuid a version 7 UUID
+     * @return milliseconds since the Unix epoch
+     */
+    public static long extractTimestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
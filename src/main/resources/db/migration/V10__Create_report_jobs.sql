@@ -0,0 +1,26 @@
+-- Long-running reports (exports, payroll history, analytics) run in the background by
+-- ReportJobService. The row is the queue entry, the progress record and the result pointer.
+CREATE TABLE IF NOT EXISTS report_jobs (
+    id UUID PRIMARY KEY,
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    report_type VARCHAR(40) NOT NULL,
+    parameters TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    progress INTEGER NOT NULL DEFAULT 0,
+    result_path VARCHAR(500),
+    result_content_type VARCHAR(100),
+    result_size BIGINT,
+    error_message TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    expires_at TIMESTAMP
+);
+
+-- Workers pick the next job from the queued rows only
+CREATE INDEX IF NOT EXISTS idx_report_jobs_queued ON report_jobs(created_at) WHERE status = 'QUEUED';
+-- Per-parlour running/pending counts for fairness and submit limits, and the job list
+CREATE INDEX IF NOT EXISTS idx_report_jobs_parlour_status ON report_jobs(parlour_id, status);
+CREATE INDEX IF NOT EXISTS idx_report_jobs_parlour_created ON report_jobs(parlour_id, created_at);
+-- Result files past their TTL
+CREATE INDEX IF NOT EXISTS idx_report_jobs_expires ON report_jobs(expires_at) WHERE result_path IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Last modification time of a booking, for incremental sync (GET /admin/bookings/changes).
+-- CURRENT_TIMESTAMP is evaluated once, so adding the column does not rewrite the tables;
+-- existing bookings count as changed at migration time and arrive with the first sync.
+ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE course_bookings ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE service_bookings_archive ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE course_bookings_archive ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Keyset order of the change feed: (updated_at, id) within a parlour
+CREATE INDEX IF NOT EXISTS idx_service_bookings_parlour_updated ON service_bookings(parlour_id, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_parlour_updated ON course_bookings(parlour_id, updated_at, id);
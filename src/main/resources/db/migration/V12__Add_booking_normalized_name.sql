@@ -0,0 +1,31 @@
+-- Client name as used for lookups: whitespace collapsed and lower-cased. Computed by the database so
+-- every writer agrees; ClientNameUtils.normalize applies the same rules to the name being searched.
+-- Both spell out the whitespace class and lower-case ASCII letters only (COLLATE "C"), because \s and
+-- lower() outside ASCII depend on the database locale and would disagree with Java on e.g. U+2003.
+-- Adding a stored generated column rewrites the booking partitions once.
+ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS normalized_name VARCHAR(255)
+    GENERATED ALWAYS AS (lower(btrim(regexp_replace(client_name,
+        '[\t\n\u000B\f\r \u00A0\u1680\u2000-\u200A\u2028\u2029\u202F\u205F\u3000\uFEFF]+', ' ', 'g'), ' ') COLLATE "C")) STORED;
+ALTER TABLE course_bookings ADD COLUMN IF NOT EXISTS normalized_name VARCHAR(255)
+    GENERATED ALWAYS AS (lower(btrim(regexp_replace(client_name,
+        '[\t\n\u000B\f\r \u00A0\u1680\u2000-\u200A\u2028\u2029\u202F\u205F\u3000\uFEFF]+', ' ', 'g'), ' ') COLLATE "C")) STORED;
+
+-- Client lookup (GET /my-bookings): equality on phone and name, newest first by (created_at, id).
+-- The composite indexes also serve phone-only lookups, so the single-column ones are dropped.
+CREATE INDEX IF NOT EXISTS idx_service_bookings_phone_name ON service_bookings(phone, normalized_name, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_phone_name ON course_bookings(phone, normalized_name, created_at, id);
+DROP INDEX IF EXISTS idx_service_bookings_phone;
+DROP INDEX IF EXISTS idx_course_bookings_phone;
+
+-- Archived bookings are looked up by the same normalized name, so a client who types their name
+-- differently still sees both halves of their history.
+ALTER TABLE service_bookings_archive ADD COLUMN IF NOT EXISTS normalized_name VARCHAR(255)
+    GENERATED ALWAYS AS (lower(btrim(regexp_replace(client_name,
+        '[\t\n\u000B\f\r \u00A0\u1680\u2000-\u200A\u2028\u2029\u202F\u205F\u3000\uFEFF]+', ' ', 'g'), ' ') COLLATE "C")) STORED;
+ALTER TABLE course_bookings_archive ADD COLUMN IF NOT EXISTS normalized_name VARCHAR(255)
+    GENERATED ALWAYS AS (lower(btrim(regexp_replace(client_name,
+        '[\t\n\u000B\f\r \u00A0\u1680\u2000-\u200A\u2028\u2029\u202F\u205F\u3000\uFEFF]+', ' ', 'g'), ' ') COLLATE "C")) STORED;
+CREATE INDEX IF NOT EXISTS idx_service_bookings_archive_phone_name ON service_bookings_archive(phone, normalized_name);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_archive_phone_name ON course_bookings_archive(phone, normalized_name);
+DROP INDEX IF EXISTS idx_service_bookings_archive_phone;
+DROP INDEX IF EXISTS idx_course_bookings_archive_phone;
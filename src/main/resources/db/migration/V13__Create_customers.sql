@@ -0,0 +1,23 @@
+-- One row per client of a parlour, keyed by the normalized phone number bookings already store.
+-- Upserted when a booking is made; CustomerBackfillService creates the rows for older bookings.
+CREATE TABLE IF NOT EXISTS customers (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v7(),
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    phone VARCHAR(20) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    first_booking_at TIMESTAMP NOT NULL,
+    last_booking_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_customers_parlour_phone UNIQUE (parlour_id, phone)
+);
+
+-- Nullable until the backfill has linked every older booking; adding it does not rewrite the tables
+ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS customer_id UUID REFERENCES customers(id) ON DELETE SET NULL;
+ALTER TABLE course_bookings ADD COLUMN IF NOT EXISTS customer_id UUID REFERENCES customers(id) ON DELETE SET NULL;
+ALTER TABLE service_bookings_archive ADD COLUMN IF NOT EXISTS customer_id UUID REFERENCES customers(id) ON DELETE SET NULL;
+ALTER TABLE course_bookings_archive ADD COLUMN IF NOT EXISTS customer_id UUID REFERENCES customers(id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_service_bookings_customer ON service_bookings(customer_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_customer ON course_bookings(customer_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_service_bookings_archive_customer ON service_bookings_archive(customer_id);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_archive_customer ON course_bookings_archive(customer_id);
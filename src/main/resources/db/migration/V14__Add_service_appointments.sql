@@ -0,0 +1,18 @@
+-- Length of a service appointment; existing services get 30 minutes without rewriting the table
+ALTER TABLE services ADD COLUMN IF NOT EXISTS duration_minutes INTEGER NOT NULL DEFAULT 30 CHECK (duration_minutes > 0);
+
+-- Optional appointment of a service booking: [appointment_start, appointment_end) with one staff member.
+-- An exclusion constraint cannot guard overlaps here because the table is partitioned by created_at;
+-- bookings take an advisory lock on the staff member's day and check for overlaps instead.
+ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS staff_id UUID REFERENCES staffs(id) ON DELETE SET NULL;
+ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS appointment_start TIMESTAMP;
+ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS appointment_end TIMESTAMP;
+ALTER TABLE service_bookings_archive ADD COLUMN IF NOT EXISTS staff_id UUID;
+ALTER TABLE service_bookings_archive ADD COLUMN IF NOT EXISTS appointment_start TIMESTAMP;
+ALTER TABLE service_bookings_archive ADD COLUMN IF NOT EXISTS appointment_end TIMESTAMP;
+
+-- Overlap checks per staff member and the startup load of upcoming appointments
+CREATE INDEX IF NOT EXISTS idx_service_bookings_staff_appointment ON service_bookings(staff_id, appointment_start)
+    WHERE staff_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_service_bookings_appointment_start ON service_bookings(appointment_start)
+    WHERE appointment_start IS NOT NULL;
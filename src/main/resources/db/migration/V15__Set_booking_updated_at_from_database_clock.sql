@@ -0,0 +1,23 @@
+-- updated_at was written by two clocks: @UpdateTimestamp on the application host and CURRENT_TIMESTAMP
+-- in the conditional and bulk transitions, while the change feed's settle window used the application clock.
+-- With clock skew a change could land behind a cursor that was already handed out.
+-- A trigger now sets it from the database clock on every insert and every change to a booking field;
+-- the price and customer backfills only touch price_at_booking and customer_id and leave it alone.
+-- clock_timestamp() rather than CURRENT_TIMESTAMP, so long transactions do not stamp changes in the past.
+-- Row triggers on a partitioned table are cloned to every partition, including future ones (PostgreSQL 13+).
+CREATE OR REPLACE FUNCTION set_booking_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER service_bookings_updated_at
+    BEFORE INSERT OR UPDATE OF parlour_id, service_id, client_name, phone, status, cancel_reason,
+        staff_id, appointment_start, appointment_end ON service_bookings
+    FOR EACH ROW EXECUTE FUNCTION set_booking_updated_at();
+
+CREATE TRIGGER course_bookings_updated_at
+    BEFORE INSERT OR UPDATE OF parlour_id, course_id, client_name, phone, status, cancel_reason
+    ON course_bookings
+    FOR EACH ROW EXECUTE FUNCTION set_booking_updated_at();
@@ -0,0 +1,22 @@
+-- Time-ordered UUIDv7 generator for SQL-side inserts.
+-- Overlays the 48-bit millisecond timestamp on a random v4 UUID and flips the
+-- version nibble from 4 to 7; the variant bits are already correct.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS UUID AS $$
+BEGIN
+    RETURN encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+END
+$$ LANGUAGE plpgsql VOLATILE;
+
+-- High-insert tables: new rows append to the right-hand edge of the primary key index
+ALTER TABLE service_bookings ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE course_bookings ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE staff_advance_pay ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE staff_salary_log ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,85 @@
+-- Convert service_bookings and course_bookings to monthly range partitions on created_at.
+-- Date-range queries (findByParlourIdAndDateRange, countBookingsSince) then only touch the
+-- partitions that overlap the requested range. New partitions are created ahead of time and
+-- old ones optionally detached by BookingPartitionService.
+
+-- Move the existing tables aside
+DROP INDEX IF EXISTS idx_service_bookings_parlour_id;
+DROP INDEX IF EXISTS idx_service_bookings_phone;
+ALTER TABLE service_bookings RENAME TO service_bookings_unpartitioned;
+ALTER TABLE service_bookings_unpartitioned RENAME CONSTRAINT service_bookings_pkey TO service_bookings_unpartitioned_pkey;
+
+DROP INDEX IF EXISTS idx_course_bookings_parlour_id;
+DROP INDEX IF EXISTS idx_course_bookings_phone;
+ALTER TABLE course_bookings RENAME TO course_bookings_unpartitioned;
+ALTER TABLE course_bookings_unpartitioned RENAME CONSTRAINT course_bookings_pkey TO course_bookings_unpartitioned_pkey;
+
+-- The partition key must be part of the primary key, and created_at can no longer be null
+CREATE TABLE service_bookings (
+    id UUID NOT NULL DEFAULT uuid_generate_v7(),
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    service_id UUID NOT NULL REFERENCES services(id) ON DELETE CASCADE,
+    client_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'ACCEPTED', 'CANCELLED', 'COMPLETED')),
+    cancel_reason TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE course_bookings (
+    id UUID NOT NULL DEFAULT uuid_generate_v7(),
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    course_id UUID NOT NULL REFERENCES courses(id) ON DELETE CASCADE,
+    client_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'ACCEPTED', 'CANCELLED', 'COMPLETED')),
+    cancel_reason TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catch-all partitions so an insert never fails if maintenance falls behind
+CREATE TABLE service_bookings_default PARTITION OF service_bookings DEFAULT;
+CREATE TABLE course_bookings_default PARTITION OF course_bookings DEFAULT;
+
+-- Monthly partitions covering the existing data plus three months ahead
+DO $$
+DECLARE
+    parent TEXT;
+    first_month DATE;
+    month DATE;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['service_bookings', 'course_bookings'] LOOP
+        EXECUTE format('SELECT date_trunc(''month'', COALESCE(MIN(created_at), CURRENT_TIMESTAMP))::DATE FROM %I',
+                       parent || '_unpartitioned') INTO first_month;
+        month := first_month;
+        WHILE month <= (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           parent || '_p' || to_char(month, 'YYYY_MM'), parent,
+                           month, (month + INTERVAL '1 month')::DATE);
+            month := (month + INTERVAL '1 month')::DATE;
+        END LOOP;
+    END LOOP;
+END
+$$;
+
+INSERT INTO service_bookings (id, parlour_id, service_id, client_name, phone, status, cancel_reason, created_at)
+SELECT id, parlour_id, service_id, client_name, phone, status, cancel_reason, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM service_bookings_unpartitioned;
+
+INSERT INTO course_bookings (id, parlour_id, course_id, client_name, phone, status, cancel_reason, created_at)
+SELECT id, parlour_id, course_id, client_name, phone, status, cancel_reason, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM course_bookings_unpartitioned;
+
+DROP TABLE service_bookings_unpartitioned;
+DROP TABLE course_bookings_unpartitioned;
+
+-- Indexes are created on the parent and cascade to every partition.
+-- BRIN on created_at stays tiny because rows arrive in time order.
+CREATE INDEX IF NOT EXISTS idx_service_bookings_parlour_created ON service_bookings(parlour_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_service_bookings_created_brin ON service_bookings USING BRIN (created_at);
+CREATE INDEX IF NOT EXISTS idx_service_bookings_phone ON service_bookings(phone);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_parlour_created ON course_bookings(parlour_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_created_brin ON course_bookings USING BRIN (created_at);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_phone ON course_bookings(phone);
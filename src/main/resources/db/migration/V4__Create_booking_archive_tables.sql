@@ -0,0 +1,30 @@
+-- Cold storage for completed and cancelled bookings moved out of the hot tables
+-- by BookingArchiveService. Same columns as the source tables plus archived_at.
+CREATE TABLE IF NOT EXISTS service_bookings_archive (
+    id UUID PRIMARY KEY,
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    service_id UUID NOT NULL REFERENCES services(id) ON DELETE CASCADE,
+    client_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    cancel_reason TEXT,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS course_bookings_archive (
+    id UUID PRIMARY KEY,
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    course_id UUID NOT NULL REFERENCES courses(id) ON DELETE CASCADE,
+    client_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    cancel_reason TEXT,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_service_bookings_archive_parlour_created ON service_bookings_archive(parlour_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_service_bookings_archive_phone ON service_bookings_archive(phone);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_archive_parlour_created ON course_bookings_archive(parlour_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_archive_phone ON course_bookings_archive(phone);
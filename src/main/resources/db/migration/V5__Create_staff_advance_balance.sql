@@ -0,0 +1,20 @@
+-- Outstanding advance per staff member for the current pay period. Advances add to it,
+-- paying salary settles it back to zero; staff_advance_pay stays the full history.
+CREATE TABLE IF NOT EXISTS staff_advance_balance (
+    staff_id UUID PRIMARY KEY REFERENCES staffs(id) ON DELETE CASCADE,
+    outstanding DECIMAL(10,2) NOT NULL DEFAULT 0 CHECK (outstanding >= 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill: advances taken since each staff member's last salary payment
+INSERT INTO staff_advance_balance (staff_id, outstanding, updated_at)
+SELECT a.staff_id, SUM(a.amount), CURRENT_TIMESTAMP
+FROM staff_advance_pay a
+LEFT JOIN (
+    SELECT staff_id, MAX(paid_on) AS last_paid
+    FROM staff_salary_log
+    GROUP BY staff_id
+) l ON l.staff_id = a.staff_id
+WHERE l.last_paid IS NULL OR a.date > l.last_paid
+GROUP BY a.staff_id
+ON CONFLICT (staff_id) DO NOTHING;
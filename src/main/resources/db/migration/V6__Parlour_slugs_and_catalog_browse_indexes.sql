@@ -0,0 +1,15 @@
+-- Public, URL-friendly parlour identifier used by anonymous catalog requests (?parlour=<slug>)
+ALTER TABLE parlours ADD COLUMN IF NOT EXISTS slug VARCHAR(120);
+
+-- Backfill existing parlours; the id suffix keeps slugs unique when names collide
+UPDATE parlours
+SET slug = TRIM(BOTH '-' FROM LOWER(REGEXP_REPLACE(name, '[^a-zA-Z0-9]+', '-', 'g')))
+           || '-' || LEFT(parlour_id::text, 8)
+WHERE slug IS NULL;
+
+ALTER TABLE parlours ALTER COLUMN slug SET NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_parlours_slug ON parlours(slug);
+
+-- Keyset pagination for the cross-tenant marketplace browse (ORDER BY name, id)
+CREATE INDEX IF NOT EXISTS idx_services_name_id ON services(name, id);
+CREATE INDEX IF NOT EXISTS idx_courses_name_id ON courses(name, id);
@@ -0,0 +1,9 @@
+-- Per-parlour, per-day HyperLogLog sketches of client phone numbers (see util.HyperLogLog).
+-- registers holds 4096 one-byte registers; booking_count counts the bookings offered to the sketch.
+CREATE TABLE IF NOT EXISTS customer_sketches (
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    registers BYTEA NOT NULL,
+    booking_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (parlour_id, day)
+);
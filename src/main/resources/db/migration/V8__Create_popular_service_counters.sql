@@ -0,0 +1,10 @@
+-- Checkpoints of the in-memory popular-services summaries (see service.PopularServicesTracker).
+-- bucket is 'all' for all-time counts or a month such as '2026-10'; error bounds the overestimate of count.
+CREATE TABLE IF NOT EXISTS popular_service_counters (
+    parlour_id UUID NOT NULL REFERENCES parlours(parlour_id) ON DELETE CASCADE,
+    bucket VARCHAR(7) NOT NULL,
+    service_id UUID NOT NULL,
+    count BIGINT NOT NULL,
+    error BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (parlour_id, bucket, service_id)
+);
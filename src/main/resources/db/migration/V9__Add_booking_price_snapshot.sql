@@ -0,0 +1,22 @@
+-- Price of the service or course at the time of booking, so revenue never depends on current
+-- catalog prices. Existing rows are filled by BookingPriceBackfillService (superadmin trigger).
+ALTER TABLE service_bookings ADD COLUMN IF NOT EXISTS price_at_booking NUMERIC(10, 2);
+ALTER TABLE course_bookings ADD COLUMN IF NOT EXISTS price_at_booking NUMERIC(10, 2);
+ALTER TABLE service_bookings_archive ADD COLUMN IF NOT EXISTS price_at_booking NUMERIC(10, 2);
+ALTER TABLE course_bookings_archive ADD COLUMN IF NOT EXISTS price_at_booking NUMERIC(10, 2);
+
+-- Covering indexes: revenue per parlour, status and period is answered from the index alone
+CREATE INDEX IF NOT EXISTS idx_service_bookings_revenue
+    ON service_bookings(parlour_id, status, created_at) INCLUDE (price_at_booking);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_revenue
+    ON course_bookings(parlour_id, status, created_at) INCLUDE (price_at_booking);
+CREATE INDEX IF NOT EXISTS idx_service_bookings_archive_revenue
+    ON service_bookings_archive(parlour_id, status, created_at) INCLUDE (price_at_booking);
+CREATE INDEX IF NOT EXISTS idx_course_bookings_archive_revenue
+    ON course_bookings_archive(parlour_id, status, created_at) INCLUDE (price_at_booking);
+
+-- Lets the backfill find unfilled rows without rescanning the tables; empty once it has run
+CREATE INDEX IF NOT EXISTS idx_service_bookings_price_missing
+    ON service_bookings(created_at) WHERE price_at_booking IS NULL;
+CREATE INDEX IF NOT EXISTS idx_course_bookings_price_missing
+    ON course_bookings(created_at) WHERE price_at_booking IS NULL;
@@ -0,0 +1,196 @@
+package com.beautyparlour.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingColumnSegmentTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private record Row(LocalDate day, String status, UUID item, long priceMinor) {
+    }
+
+    @Test
+    void writtenSegmentsOpenWithTheSameRows() throws IOException {
+        Path dir = Files.createTempDirectory("segments");
+        try {
+            // Around the bitmap word size, the builder's initial capacity and the status column's padding
+            for (int rows : new int[]{0, 1, 7, 63, 64, 65, 1024, 1025, 3001}) {
+                List<Row> facts = randomRows(new Random(rows), rows, 20);
+                Path file = dir.resolve("segment-" + rows + ".bin");
+                build(facts).writeTo(file);
+
+                BookingColumnSegment segment = BookingColumnSegment.open(file);
+                assertEquals(rows, segment.getRowCount());
+                LocalDate from = START.minusDays(1);
+                LocalDate to = START.plusYears(2);
+                assertArrayEquals(naiveSelect(facts, from, to, null), segment.select(from, to, null),
+                        rows + " rows: every row is in the full range");
+                assertTotals(facts, naiveSelect(facts, from, to, null), segment.aggregate(segment.select(from, to, null)));
+            }
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    @Test
+    void selectAndAggregateMatchANaiveScan() throws IOException {
+        Random random = new Random(3);
+        List<Row> facts = randomRows(random, 5_000, 30);
+        Path dir = Files.createTempDirectory("segments");
+        try {
+            Path file = dir.resolve("segment.bin");
+            build(facts).writeTo(file);
+            BookingColumnSegment segment = BookingColumnSegment.open(file);
+
+            for (int query = 0; query < 200; query++) {
+                LocalDate from = START.plusDays(random.nextInt(400) - 20);
+                LocalDate to = from.plusDays(random.nextInt(120));
+                UUID item = switch (random.nextInt(3)) {
+                    case 0 -> null;
+                    case 1 -> facts.get(random.nextInt(facts.size())).item();
+                    default -> UUID.randomUUID();
+                };
+
+                long[] expected = naiveSelect(facts, from, to, item);
+                long[] selection = segment.select(from, to, item);
+                assertArrayEquals(expected, selection, from + ".." + to + " item " + item);
+                assertTotals(facts, expected, segment.aggregate(selection));
+            }
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    @Test
+    void rangesAreHalfOpen() throws IOException {
+        UUID item = UUID.randomUUID();
+        BookingColumnSegment.Builder builder = new BookingColumnSegment.Builder();
+        builder.add(START, "COMPLETED", item, Money.ofMinor(1_000));
+        builder.add(START.plusDays(1), "COMPLETED", item, Money.ofMinor(2_000));
+        builder.add(START.plusDays(2), "CANCELLED", item, Money.ofMinor(4_000));
+        Path dir = Files.createTempDirectory("segments");
+        try {
+            Path file = dir.resolve("segment.bin");
+            builder.writeTo(file);
+            BookingColumnSegment segment = BookingColumnSegment.open(file);
+
+            assertArrayEquals(new long[]{0b011}, segment.select(START, START.plusDays(2), item));
+            assertArrayEquals(new long[]{0b000}, segment.select(START, START, null));
+            BookingColumnSegment.Totals totals = segment.aggregate(segment.select(START, START.plusDays(3), null));
+            assertEquals(3, totals.getTotal());
+            assertEquals(1, totals.getCount("CANCELLED"));
+            // Only completed bookings count as revenue
+            assertEquals(Money.ofMinor(3_000), totals.getCompletedRevenue());
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    @Test
+    void rejectsUnknownStatusesAndDamagedFiles() throws IOException {
+        BookingColumnSegment.Builder builder = new BookingColumnSegment.Builder();
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.add(START, "REFUNDED", UUID.randomUUID(), Money.ZERO));
+
+        Path dir = Files.createTempDirectory("segments");
+        try {
+            Path file = dir.resolve("segment.bin");
+            build(randomRows(new Random(5), 100, 5)).writeTo(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 8);
+            }
+            assertThrows(IllegalArgumentException.class, () -> open(file));
+
+            Files.write(file, new byte[64]);
+            assertThrows(IllegalArgumentException.class, () -> open(file));
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    private static List<Row> randomRows(Random random, int count, int itemCount) {
+        List<UUID> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Row(
+                    START.plusDays(random.nextInt(365)),
+                    BookingColumnSegment.STATUSES.get(random.nextInt(BookingColumnSegment.STATUSES.size())),
+                    items.get(random.nextInt(items.size())),
+                    random.nextInt(500_000)));
+        }
+        return rows;
+    }
+
+    private static BookingColumnSegment.Builder build(List<Row> rows) {
+        BookingColumnSegment.Builder builder = new BookingColumnSegment.Builder();
+        for (Row row : rows) {
+            builder.add(row.day(), row.status(), row.item(), Money.ofMinor(row.priceMinor()));
+        }
+        return builder;
+    }
+
+    private static long[] naiveSelect(List<Row> rows, LocalDate from, LocalDate to, UUID item) {
+        long[] selection = new long[(rows.size() + 63) / 64];
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            if (!row.day().isBefore(from) && row.day().isBefore(to) && (item == null || item.equals(row.item()))) {
+                selection[i / 64] |= 1L << (i % 64);
+            }
+        }
+        return selection;
+    }
+
+    private static void assertTotals(List<Row> rows, long[] selection, BookingColumnSegment.Totals totals) {
+        long revenue = 0;
+        long total = 0;
+        for (String status : BookingColumnSegment.STATUSES) {
+            long count = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                if ((selection[i / 64] & (1L << (i % 64))) != 0 && rows.get(i).status().equals(status)) {
+                    count++;
+                    if (status.equals("COMPLETED")) {
+                        revenue += rows.get(i).priceMinor();
+                    }
+                }
+            }
+            assertEquals(count, totals.getCount(status), status);
+            total += count;
+        }
+        assertEquals(total, totals.getTotal());
+        assertEquals(Money.ofMinor(revenue), totals.getCompletedRevenue());
+    }
+
+    private static BookingColumnSegment open(Path file) {
+        try {
+            return BookingColumnSegment.open(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.beautyparlour.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientNameUtilsTest {
+
+    @Test
+    void collapsesTrimsAndLowerCasesAsciiNames() {
+        assertEquals("asha rao", ClientNameUtils.normalize("  Asha   RAO "));
+        assertEquals("asha rao", ClientNameUtils.normalize("asha\t\r\nrao"));
+        assertEquals("", ClientNameUtils.normalize(null));
+        assertEquals("", ClientNameUtils.normalize(" \t "));
+    }
+
+    @Test
+    void treatsUnicodeSpacesAsWhitespace() {
+        // em space, no-break space, narrow no-break space, ideographic space, zero-width no-break space
+        assertEquals("asha rao", ClientNameUtils.normalize("Asha\u2003Rao"));
+        assertEquals("asha rao", ClientNameUtils.normalize("\u00A0Asha \u00A0Rao\u202F"));
+        assertEquals("asha rao", ClientNameUtils.normalize("\u3000Asha\u3000\u3000Rao"));
+        assertEquals("asha rao", ClientNameUtils.normalize("\uFEFFAsha Rao"));
+        assertEquals("asha rao", ClientNameUtils.normalize("Asha\u2028Rao\u2029"));
+    }
+
+    @Test
+    void keepsCharactersOutsideTheWhitespaceClass() {
+        // Zero-width space and joiners are not whitespace in the database either
+        assertEquals("asha\u200Brao", ClientNameUtils.normalize("Asha\u200BRao"));
+        assertEquals("आशा", ClientNameUtils.normalize(" आशा "));
+    }
+
+    @Test
+    void lowerCasesOnlyAsciiLettersLikeTheCollationC() {
+        assertEquals("Élise", ClientNameUtils.normalize("ÉLISE"));
+        assertEquals("élise", ClientNameUtils.normalize("élise"));
+        assertEquals("istanbul İ", ClientNameUtils.normalize("ISTANBUL İ"));
+    }
+
+    @Test
+    void migrationUsesTheSameWhitespaceClass() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/db/migration/V12__Add_booking_normalized_name.sql")) {
+            String sql = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+            String expression = "'" + ClientNameUtils.WHITESPACE_CLASS + "+'";
+            // Live and archive tables, service and course bookings
+            assertEquals(4, sql.split(Pattern.quote(expression), -1).length - 1,
+                    "every normalized_name column must use ClientNameUtils.WHITESPACE_CLASS");
+        }
+    }
+}
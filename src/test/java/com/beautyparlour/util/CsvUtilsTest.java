@@ -0,0 +1,49 @@
+package com.beautyparlour.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvUtilsTest {
+
+    @Test
+    void quotesDelimitersQuotesAndLineBreaks() {
+        assertEquals("plain", CsvUtils.escape("plain"));
+        assertEquals("\"a,b\"", CsvUtils.escape("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", CsvUtils.escape("say \"hi\""));
+        assertEquals("\"two\nlines\"", CsvUtils.escape("two\nlines"));
+        assertEquals("", CsvUtils.escape(null));
+    }
+
+    @Test
+    void neutralizesTextThatSpreadsheetsEvaluate() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"", CsvUtils.escape("=HYPERLINK(\"http://x\",\"y\")"));
+        assertEquals("\"'+cmd|' /C calc'!A0\"", CsvUtils.escape("+cmd|' /C calc'!A0"));
+        assertEquals("\"'-2+3\"", CsvUtils.escape("-2+3"));
+        assertEquals("\"'@SUM(A1)\"", CsvUtils.escape("@SUM(A1)"));
+        assertEquals("\"'\t=1\"", CsvUtils.escape("\t=1"));
+        assertEquals("\"'\r=1\"", CsvUtils.escape("\r=1"));
+        assertEquals("Asha =Rao", CsvUtils.escape("Asha =Rao"));
+    }
+
+    @Test
+    void leavesNumbersAlone() {
+        assertEquals("-150.50", CsvUtils.escape(new BigDecimal("-150.50")));
+        assertEquals("-3", CsvUtils.escape(-3));
+    }
+
+    @Test
+    void writtenRowsReadBack() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvUtils.writeRow(out, "a,b", "say \"hi\"", "two\r\nlines", null, 42);
+        List<String> record = CsvUtils.readRecord(new BufferedReader(new StringReader(out.toString())));
+        assertEquals(List.of("a,b", "say \"hi\"", "two\r\nlines", "", "42"), record);
+    }
+}
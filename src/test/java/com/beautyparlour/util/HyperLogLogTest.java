@@ -0,0 +1,115 @@
+package com.beautyparlour.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimatesStayWithinThreeStandardErrorsOfExactCounts() {
+        Random random = new Random(11);
+        for (int cardinality : new int[]{10, 100, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            Set<String> exact = new HashSet<>();
+            while (exact.size() < cardinality) {
+                String phone = "+91" + (7_000_000_000L + random.nextInt(1_000_000_000));
+                sketch.offer(phone);
+                exact.add(phone);
+            }
+
+            double error = Math.abs(sketch.estimate() - exact.size()) / (double) exact.size();
+            // 1.04 / sqrt(4096) is about 1.6%; small ranges use linear counting and are closer still
+            assertTrue(error <= 0.05, cardinality + " distinct values estimated as " + sketch.estimate());
+        }
+    }
+
+    @Test
+    void repeatedValuesDoNotChangeTheEstimate() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+        for (int i = 0; i < 500; i++) {
+            sketch.offer("customer-" + i);
+        }
+        byte[] registers = sketch.toBytes();
+        long estimate = sketch.estimate();
+
+        for (int repeat = 0; repeat < 10; repeat++) {
+            for (int i = 0; i < 500; i++) {
+                sketch.offer("customer-" + i);
+            }
+        }
+        assertArrayEquals(registers, sketch.toBytes());
+        assertEquals(estimate, sketch.estimate());
+    }
+
+    @Test
+    void mergeIsTheSketchOfTheUnion() {
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        HyperLogLog both = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            String phone = "phone-" + i;
+            // Overlapping ranges, so some customers book on both days
+            if (i < 20_000) {
+                monday.offer(phone);
+                both.offer(phone);
+            }
+            if (i >= 12_000) {
+                tuesday.offer(phone);
+                both.offer(phone);
+            }
+        }
+
+        HyperLogLog merged = HyperLogLog.fromBytes(monday.toBytes());
+        merged.merge(tuesday);
+        assertArrayEquals(both.toBytes(), merged.toBytes());
+        assertEquals(both.estimate(), merged.estimate());
+
+        // Register-wise maximum: order does not matter and merging again changes nothing
+        HyperLogLog reversed = HyperLogLog.fromBytes(tuesday.toBytes());
+        reversed.merge(monday);
+        reversed.merge(monday);
+        assertArrayEquals(both.toBytes(), reversed.toBytes());
+    }
+
+    @Test
+    void registerIndexAndRankUseTheExpectedBits() {
+        assertEquals(0, HyperLogLog.registerIndex(0L));
+        assertEquals(HyperLogLog.REGISTER_COUNT - 1, HyperLogLog.registerIndex(-1L));
+        assertEquals(1, HyperLogLog.registerIndex(1L << (Long.SIZE - HyperLogLog.PRECISION)));
+
+        // First bit after the index bits set: rank 1
+        assertEquals(1, HyperLogLog.registerValue(1L << (Long.SIZE - HyperLogLog.PRECISION - 1)));
+        assertEquals(2, HyperLogLog.registerValue(1L << (Long.SIZE - HyperLogLog.PRECISION - 2)));
+        assertEquals(1, HyperLogLog.registerValue(-1L));
+        // No bit set after the index bits: capped by the sentinel bit, so a register never overflows
+        assertEquals(Long.SIZE - HyperLogLog.PRECISION + 1, HyperLogLog.registerValue(0L));
+        assertEquals(Long.SIZE - HyperLogLog.PRECISION + 1, HyperLogLog.registerValue(-1L << (Long.SIZE - HyperLogLog.PRECISION)));
+    }
+
+    @Test
+    void registersRoundTripThroughBytes() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            sketch.offer("customer-" + i);
+        }
+        byte[] stored = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(stored);
+        assertEquals(sketch.estimate(), restored.estimate());
+
+        // The restored sketch owns its registers
+        Arrays.fill(stored, (byte) 0);
+        assertEquals(sketch.estimate(), restored.estimate());
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+    }
+}
@@ -0,0 +1,81 @@
+package com.beautyparlour.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void ofRoundsHalfUpToMinorUnits() {
+        assertEquals(1_234, Money.of(new BigDecimal("12.34")).getMinorUnits());
+        assertEquals(1_235, Money.of(new BigDecimal("12.345")).getMinorUnits());
+        assertEquals(1_234, Money.of(new BigDecimal("12.3449")).getMinorUnits());
+        assertEquals(-1_235, Money.of(new BigDecimal("-12.345")).getMinorUnits());
+        assertEquals(1_200, Money.of(new BigDecimal("12")).getMinorUnits());
+        assertEquals(1_000, Money.of(new BigDecimal("1E+1")).getMinorUnits());
+        assertSame(Money.ZERO, Money.of(null));
+        assertSame(Money.ZERO, Money.of(new BigDecimal("0.004")));
+    }
+
+    @Test
+    void ofThrowsWhenTheAmountDoesNotFitInALong() {
+        BigDecimal largest = BigDecimal.valueOf(Long.MAX_VALUE, Money.SCALE);
+        assertEquals(Long.MAX_VALUE, Money.of(largest).getMinorUnits());
+        assertEquals(Long.MIN_VALUE, Money.of(BigDecimal.valueOf(Long.MIN_VALUE, Money.SCALE)).getMinorUnits());
+
+        assertThrows(ArithmeticException.class, () -> Money.of(largest.add(new BigDecimal("0.01"))));
+        // Only rounding pushes this one past the limit
+        assertThrows(ArithmeticException.class, () -> Money.of(largest.add(new BigDecimal("0.005"))));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1E+30")));
+    }
+
+    @Test
+    void arithmeticThrowsOnOverflowInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        Money min = Money.ofMinor(Long.MIN_VALUE);
+        Money cent = Money.ofMinor(1);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(cent));
+        assertThrows(ArithmeticException.class, () -> min.minus(cent));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> min.times(-1));
+
+        assertEquals(Money.ofMinor(Long.MAX_VALUE - 1), max.minus(cent));
+        assertEquals(Money.ofMinor(Long.MIN_VALUE + 1), min.plus(cent));
+        assertEquals(Money.ofMinor(-Long.MAX_VALUE), max.times(-1));
+        assertSame(Money.ZERO, max.times(0));
+    }
+
+    @Test
+    void arithmeticMatchesBigDecimal() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            BigDecimal a = BigDecimal.valueOf(random.nextInt(), Money.SCALE);
+            BigDecimal b = BigDecimal.valueOf(random.nextInt(), Money.SCALE);
+            int factor = random.nextInt(1_000) - 500;
+
+            assertEquals(a.add(b), Money.of(a).plus(Money.of(b)).toBigDecimal());
+            assertEquals(a.subtract(b), Money.of(a).minus(Money.of(b)).toBigDecimal());
+            assertEquals(a.multiply(BigDecimal.valueOf(factor)), Money.of(a).times(factor).toBigDecimal());
+            assertEquals(a.max(b), Money.of(a).max(Money.of(b)).toBigDecimal());
+        }
+    }
+
+    @Test
+    void toBigDecimalRoundTripsWithScaleTwo() {
+        for (long minor : new long[]{0, 1, -1, 99, 100, 123_456_789, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Money amount = Money.ofMinor(minor);
+            BigDecimal decimal = amount.toBigDecimal();
+            assertEquals(Money.SCALE, decimal.scale());
+            assertEquals(amount, Money.of(decimal));
+        }
+        assertEquals("12.50", Money.of(new BigDecimal("12.5")).toString());
+        assertEquals("-0.01", Money.ofMinor(-1).toString());
+    }
+}
@@ -0,0 +1,191 @@
+package com.beautyparlour.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotCalendarTest {
+
+    @Test
+    void reservationsAcrossWordBoundariesOnlyTouchTheirSlots() {
+        SlotCalendar calendar = new SlotCalendar(200);
+        assertTrue(calendar.tryReserve(60, 10));
+        assertFalse(calendar.isFree(60, 10));
+        assertTrue(calendar.isFree(0, 60));
+        assertTrue(calendar.isFree(70, 130));
+
+        // Overlaps only in the second word
+        assertFalse(calendar.tryReserve(69, 5));
+        assertTrue(calendar.isFree(70, 5));
+
+        // Exactly one whole word, then a range spanning three words
+        assertTrue(calendar.tryReserve(128, 64));
+        assertTrue(calendar.isFree(127, 1));
+        assertTrue(calendar.isFree(192, 8));
+        assertFalse(calendar.tryReserve(100, 100));
+        assertTrue(calendar.tryReserve(70, 58));
+        assertFalse(calendar.isFree(127, 1));
+
+        calendar.release(60, 140);
+        assertTrue(calendar.isFree(0, 200));
+    }
+
+    @Test
+    void conflictRollsBackTheWordsAlreadyReserved() {
+        SlotCalendar calendar = new SlotCalendar(192);
+        calendar.markBusy(190, 1);
+
+        // Words 0 and 1 are set before word 2 conflicts
+        assertFalse(calendar.tryReserve(10, 182));
+        assertTrue(calendar.isFree(0, 190));
+        assertFalse(calendar.isFree(190, 1));
+        assertTrue(calendar.isFree(191, 1));
+
+        // Conflict at the start of a later word
+        calendar.markBusy(64, 1);
+        assertFalse(calendar.tryReserve(30, 40));
+        assertTrue(calendar.isFree(0, 64));
+        assertTrue(calendar.isFree(65, 125));
+    }
+
+    @Test
+    void nextFreeFindsTheFirstGapThatFits() {
+        SlotCalendar calendar = new SlotCalendar(130);
+        calendar.markBusy(0, 3);
+        calendar.markBusy(5, 59);
+        calendar.markBusy(66, 60);
+
+        assertEquals(3, calendar.nextFree(0, 2));
+        // Past the first gap, and across the word boundary at 64
+        assertEquals(64, calendar.nextFree(4, 2));
+        assertEquals(126, calendar.nextFree(0, 3));
+        assertEquals(126, calendar.nextFree(65, 4));
+        assertEquals(-1, calendar.nextFree(0, 5));
+        assertEquals(-1, calendar.nextFree(128, 3));
+        assertEquals(3, calendar.nextFree(-10, 1));
+    }
+
+    @Test
+    void matchesASimpleModelUnderRandomOperations() {
+        Random random = new Random(17);
+        int slots = 300;
+        SlotCalendar calendar = new SlotCalendar(slots);
+        boolean[] busy = new boolean[slots];
+        for (int step = 0; step < 5_000; step++) {
+            int start = random.nextInt(slots);
+            int length = 1 + random.nextInt(Math.min(slots - start, 150));
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    boolean free = isFree(busy, start, length);
+                    assertEquals(free, calendar.tryReserve(start, length));
+                    if (free) {
+                        fill(busy, start, length, true);
+                    }
+                }
+                case 2 -> {
+                    calendar.release(start, length);
+                    fill(busy, start, length, false);
+                }
+                default -> {
+                    calendar.markBusy(start, length);
+                    fill(busy, start, length, true);
+                }
+            }
+
+            int length2 = 1 + random.nextInt(20);
+            assertEquals(nextFree(busy, start, length2), calendar.nextFree(start, length2));
+            for (int slot = 0; slot < slots; slot++) {
+                assertEquals(!busy[slot], calendar.isFree(slot, 1), "slot " + slot + " after step " + step);
+            }
+        }
+    }
+
+    @Test
+    void concurrentOverlappingReservationsNeverBothSucceed() throws Exception {
+        int slots = 256;
+        int threads = 8;
+        SlotCalendar calendar = new SlotCalendar(slots);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<int[]>>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            results.add(executor.submit(() -> {
+                List<int[]> reserved = new ArrayList<>();
+                start.await();
+                for (int i = 0; i < 2_000; i++) {
+                    int from = random.nextInt(slots - 1);
+                    int length = 1 + random.nextInt(Math.min(slots - from, 100));
+                    if (calendar.tryReserve(from, length)) {
+                        reserved.add(new int[]{from, length});
+                    }
+                }
+                return reserved;
+            }));
+        }
+        start.countDown();
+
+        boolean[] owned = new boolean[slots];
+        for (Future<List<int[]>> result : results) {
+            for (int[] range : result.get()) {
+                for (int slot = range[0]; slot < range[0] + range[1]; slot++) {
+                    assertFalse(owned[slot], "slot " + slot + " reserved twice");
+                    owned[slot] = true;
+                }
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Rolled-back partial reservations leave nothing behind
+        for (int slot = 0; slot < slots; slot++) {
+            assertEquals(!owned[slot], calendar.isFree(slot, 1), "slot " + slot);
+        }
+    }
+
+    @Test
+    void rejectsRangesOutsideTheCalendar() {
+        SlotCalendar calendar = new SlotCalendar(96);
+        assertThrows(IllegalArgumentException.class, () -> calendar.tryReserve(90, 7));
+        assertThrows(IllegalArgumentException.class, () -> calendar.isFree(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> calendar.release(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SlotCalendar(0));
+        assertTrue(calendar.tryReserve(0, 96));
+    }
+
+    private static boolean isFree(boolean[] busy, int start, int length) {
+        for (int slot = start; slot < start + length; slot++) {
+            if (busy[slot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int nextFree(boolean[] busy, int from, int length) {
+        for (int start = Math.max(from, 0); start + length <= busy.length; start++) {
+            if (isFree(busy, start, length)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static void fill(boolean[] busy, int start, int length, boolean value) {
+        for (int slot = start; slot < start + length; slot++) {
+            busy[slot] = value;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.beautyparlour.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsAreExactWhileKeysFitTheCapacity() {
+        SpaceSaving<String> summary = new SpaceSaving<>(10);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            String key = "service-" + random.nextInt(10);
+            summary.offer(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        for (SpaceSaving.Entry<String> entry : summary.top(10)) {
+            assertEquals(exact.get(entry.getKey()).longValue(), entry.getCount());
+            assertEquals(0, entry.getError());
+        }
+    }
+
+    @Test
+    void boundsHoldAgainstExactCountsOnSkewedStream() {
+        int capacity = 50;
+        int total = 200_000;
+        SpaceSaving<Integer> summary = new SpaceSaving<>(capacity);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < total; i++) {
+            int key = zipf(random, 2_000);
+            summary.offer(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        for (SpaceSaving.Entry<Integer> entry : summary.top(capacity)) {
+            long trueCount = exact.get(entry.getKey());
+            assertTrue(entry.getCount() >= trueCount, "count must never underestimate");
+            assertTrue(entry.getGuaranteedCount() <= trueCount, "guaranteed count must never overestimate");
+            assertTrue(entry.getError() <= total / capacity, "error is bounded by N / capacity");
+        }
+    }
+
+    @Test
+    void topTenMatchesExactTopTenOnSkewedStream() {
+        SpaceSaving<Integer> summary = new SpaceSaving<>(100);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            int key = zipf(random, 5_000);
+            summary.offer(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        List<Integer> exactTop = exact.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed())
+                .limit(10)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        List<Integer> estimatedTop = summary.top(10).stream()
+                .map(SpaceSaving.Entry::getKey)
+                .collect(Collectors.toList());
+        assertEquals(exactTop, estimatedTop);
+    }
+
+    @Test
+    void restoredEntriesKeepTheirCountsAndErrors() {
+        SpaceSaving<String> summary = new SpaceSaving<>(2);
+        summary.restore("a", 10, 2);
+        summary.restore("b", 5, 0);
+        summary.restore("c", 100, 0);
+
+        assertEquals(2, summary.size());
+        summary.offer("c");
+        List<SpaceSaving.Entry<String>> top = summary.top(2);
+        assertEquals("a", top.get(0).getKey());
+        assertEquals("c", top.get(1).getKey());
+        assertEquals(6, top.get(1).getCount());
+        assertEquals(5, top.get(1).getError());
+    }
+
+    // Zipf-like distribution with exponent 1 over keys 1..n, as booking popularity tends to be
+    private static int zipf(Random random, int n) {
+        double harmonic = Math.log(n) + 0.5772;
+        double target = random.nextDouble() * harmonic;
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / k;
+            if (sum >= target) {
+                return k;
+            }
+        }
+        return n;
+    }
+}